@@ -1,6 +1,10 @@
 package com.travel.tripcost.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travel.tripcost.provider.FlightQuoteCache;
+import com.travel.tripcost.provider.FlightQuoteCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -10,14 +14,18 @@ import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(FlightQuoteCacheProperties.class)
 public class CacheConfig {
     @Bean
-    @SuppressWarnings("null")
-    public CacheManager cacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager("flightQuotes");
+    @SuppressWarnings({ "null", "unchecked", "rawtypes" })
+    public CacheManager cacheManager(FlightQuoteCache flightQuoteCache) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
         manager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(15, TimeUnit.MINUTES)
-                .maximumSize(1000));
+                .maximumSize(1000)
+                .recordStats());
+        // Flight quotes are read through FlightQuoteCache; registered here so actuator lists them and binds their stats
+        manager.registerCustomCache(FlightQuoteCache.NAME, (AsyncCache) flightQuoteCache.asyncCache());
         return manager;
     }
 
@@ -0,0 +1,20 @@
+package com.travel.tripcost.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Virtual-thread executor for estimate work. Most of it is waiting on the
+     * database or the flight API, so one cheap thread per task is enough.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService estimationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
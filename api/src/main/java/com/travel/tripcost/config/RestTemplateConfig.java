@@ -1,14 +1,159 @@
 package com.travel.tripcost.config;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Outbound HTTP for the Amadeus client and token service: a pooled Apache
+ * HttpClient with keep-alive, so searches reuse warm TLS connections instead of
+ * handshaking each time, and with every phase of a call bounded by a timeout.
+ * The client asks for gzip and inflates responses itself.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String TOKEN_PATH = "/v1/security/oauth2/token";
+
+    @Value("${amadeus.http.max-connections:20}")
+    private int maxConnections = 20;
+
+    @Value("${amadeus.http.connect-timeout:PT2S}")
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    @Value("${amadeus.http.pool-timeout:PT1S}")
+    private Duration poolTimeout = Duration.ofSeconds(1);
+
+    @Value("${amadeus.http.search-timeout:PT10S}")
+    private Duration searchTimeout = Duration.ofSeconds(10);
+
+    @Value("${amadeus.http.token-timeout:PT5S}")
+    private Duration tokenTimeout = Duration.ofSeconds(5);
+
+    @Value("${amadeus.http.idle-timeout:PT60S}")
+    private Duration idleTimeout = Duration.ofSeconds(60);
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager amadeusConnectionManager(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // Everything goes to one Amadeus host
+                .setSSLSocketFactory(registry == null
+                        ? SSLConnectionSocketFactory.getSocketFactory()
+                        : new TimedSslSocketFactory(registry))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(searchTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+        if (registry != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(manager, "amadeus").bindTo(registry);
+        }
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient amadeusHttpClient(PoolingHttpClientConnectionManager amadeusConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(amadeusConnectionManager)
+                .setDefaultRequestConfig(requestConfig(searchTimeout))
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient amadeusHttpClient,
+            ObjectProvider<RestTemplateBuilder> restTemplateBuilder) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+                amadeusHttpClient);
+        // Token calls are small and should fail fast; searches get longer to respond
+        RequestConfig tokenConfig = requestConfig(tokenTimeout);
+        RequestConfig searchConfig = requestConfig(searchTimeout);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(uri.getPath().endsWith(TOKEN_PATH) ? tokenConfig : searchConfig);
+            return context;
+        });
+        // Built from Boot's builder when available so calls are recorded as http.client.requests
+        return restTemplateBuilder.getIfAvailable(RestTemplateBuilder::new)
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    private RequestConfig requestConfig(Duration responseTimeout) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                .setResponseTimeout(Timeout.of(responseTimeout))
+                .build();
+    }
+
+    /**
+     * Times new connections, TCP connect plus TLS handshake, as
+     * {@code amadeus.http.connect}. Pooled connections skip this entirely, so
+     * the count also shows how often the pool had nothing warm to offer.
+     */
+    static class TimedSslSocketFactory extends SSLConnectionSocketFactory {
+
+        private final Timer success;
+        private final Timer failure;
+
+        TimedSslSocketFactory(MeterRegistry registry) {
+            super(SSLContexts.createSystemDefault());
+            this.success = connectTimer(registry, "success");
+            this.failure = connectTimer(registry, "failure");
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                InetSocketAddress localAddress, Timeout connectTimeout, Object attachment, HttpContext context)
+                throws IOException {
+            long start = System.nanoTime();
+            try {
+                Socket connected = super.connectSocket(socket, host, remoteAddress, localAddress, connectTimeout,
+                        attachment, context);
+                success.record(Duration.ofNanos(System.nanoTime() - start));
+                return connected;
+            } catch (IOException | RuntimeException e) {
+                failure.record(Duration.ofNanos(System.nanoTime() - start));
+                throw e;
+            }
+        }
+
+        private static Timer connectTimer(MeterRegistry registry, String outcome) {
+            return Timer.builder("amadeus.http.connect")
+                    .description("Time to open a new connection to Amadeus, including the TLS handshake")
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
     }
 }
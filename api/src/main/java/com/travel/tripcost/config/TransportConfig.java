@@ -0,0 +1,11 @@
+package com.travel.tripcost.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.travel.tripcost.service.GroundTransportProperties;
+
+@Configuration
+@EnableConfigurationProperties(GroundTransportProperties.class)
+public class TransportConfig {
+}
@@ -1,14 +1,14 @@
 package com.travel.tripcost.controller;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.travel.tripcost.domain.City;
-import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.dto.CitySearchResult;
+import com.travel.tripcost.service.search.CitySearchIndex;
+import com.travel.tripcost.service.traffic.TrafficTracker;
 import java.util.List;
 
 import lombok.RequiredArgsConstructor;
@@ -19,14 +19,16 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin
 public class LocationController {
 
-    private final CityRepository cityRepository;
+    private final CitySearchIndex citySearchIndex;
+    private final TrafficTracker trafficTracker;
 
     @GetMapping("/cities")
-    public List<City> getCities(@RequestParam("q") String query) {
+    public List<CitySearchResult> getCities(@RequestParam("q") String query) {
         if (query == null || query.length() < 2) {
             return List.of();
         }
-        return cityRepository.findByNameContainingIgnoreCase(query, PageRequest.of(0, 10));
+        trafficTracker.recordCitySearch(query);
+        return citySearchIndex.search(query, 10);
     }
 
-}
\ No newline at end of file
+}
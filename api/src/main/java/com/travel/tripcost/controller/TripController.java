@@ -1,16 +1,27 @@
 package com.travel.tripcost.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.travel.tripcost.dto.BatchTripRequest;
+import com.travel.tripcost.dto.BatchTripResponse;
+import com.travel.tripcost.dto.FareMatrixResponse;
 import com.travel.tripcost.dto.TripRequest;
 import com.travel.tripcost.dto.TripResponse;
+import com.travel.tripcost.service.BatchTripService;
+import com.travel.tripcost.service.FareMatrixService;
 import com.travel.tripcost.service.InputValidator;
 import com.travel.tripcost.service.TripService;
+import com.travel.tripcost.service.TripStreamService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +32,9 @@ import lombok.RequiredArgsConstructor;
 public class TripController {
 
     private final TripService tripService;
+    private final BatchTripService batchTripService;
+    private final FareMatrixService fareMatrixService;
+    private final TripStreamService tripStreamService;
 
     @GetMapping("/estimate")
     public TripResponse estimateTripCost(@Validated TripRequest request) {
@@ -29,4 +43,27 @@ public class TripController {
 
         return tripService.estimateTrip(request);
     }
+
+    @GetMapping(path = "/estimate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTripCost(@Validated TripRequest request) {
+
+        InputValidator.validate(request);
+
+        return tripStreamService.streamEstimate(request);
+    }
+
+    @PostMapping("/estimate/batch")
+    public BatchTripResponse estimateTripCosts(@Validated @RequestBody BatchTripRequest request) {
+        // Items are validated individually by the service
+        return batchTripService.estimateTrips(request.getRequests());
+    }
+
+    @GetMapping("/fare-matrix")
+    public FareMatrixResponse fareMatrix(@Validated TripRequest request,
+            @RequestParam(defaultValue = "2") int flexDays) {
+
+        InputValidator.validate(request);
+
+        return fareMatrixService.fareMatrix(request, flexDays);
+    }
 }
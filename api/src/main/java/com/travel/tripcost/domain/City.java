@@ -1,10 +1,13 @@
 package com.travel.tripcost.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import java.time.Instant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "cities")
@@ -32,4 +35,9 @@ public class City {
     @OneToOne(mappedBy = "city", cascade = CascadeType.ALL)
     private CostIndex costIndex;
 
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+
 }
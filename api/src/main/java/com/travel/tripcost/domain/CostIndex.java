@@ -1,12 +1,14 @@
 package com.travel.tripcost.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
 @Table(name = "cost_indices")
@@ -38,4 +40,9 @@ public class CostIndex {
     @Column(name = "local_transit_daily")
     private BigDecimal localTransitDaily;
 
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+
 }
\ No newline at end of file
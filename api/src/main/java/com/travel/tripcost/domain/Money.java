@@ -0,0 +1,111 @@
+package com.travel.tripcost.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * An amount of money as a whole number of minor units (cents) and an ISO 4217
+ * currency code. Arithmetic stays in {@code long}s and rounds half away from
+ * zero wherever a result falls between two cents, the same as
+ * {@code setScale(2, HALF_UP)}; a {@link BigDecimal} is only made at the JSON
+ * boundary, where the amount is written as a plain decimal number.
+ */
+public record Money(long cents, String currency) implements Comparable<Money> {
+
+    public static final String USD = "USD";
+    public static final Money ZERO = new Money(0, USD);
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents, USD);
+    }
+
+    /**
+     * Rounds a floating point amount in major units (dollars) to the nearest
+     * cent.
+     */
+    public static Money ofMajor(double amount) {
+        return ofCents(Math.round(amount * 100));
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return of(amount, USD);
+    }
+
+    /**
+     * Rounds {@code amount}, in major units of {@code currency}, to the nearest
+     * cent.
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        long cents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        return USD.equals(currency) ? ofCents(cents) : new Money(cents, currency);
+    }
+
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(cents, sameCurrency(other).cents), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(cents, sameCurrency(other).cents), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(cents, factor), currency);
+    }
+
+    /**
+     * This amount times {@code numerator / denominator}, rounded to the cent:
+     * {@code times(13, 10)} adds a 30% buffer.
+     */
+    public Money times(long numerator, long denominator) {
+        return new Money(divideRounded(Math.multiplyExact(cents, numerator), denominator), currency);
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    @JsonValue
+    public BigDecimal toDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, sameCurrency(other).cents);
+    }
+
+    @Override
+    public String toString() {
+        return toDecimal().toPlainString() + " " + currency;
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " with " + other.currency);
+        }
+        return other;
+    }
+
+    private static long divideRounded(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+}
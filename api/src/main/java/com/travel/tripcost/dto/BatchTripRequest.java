@@ -0,0 +1,13 @@
+package com.travel.tripcost.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class BatchTripRequest {
+    // Items are validated one by one so a single bad item does not reject the batch
+    @NotEmpty(message = "At least one trip request is required")
+    private List<TripRequest> requests;
+}
@@ -0,0 +1,16 @@
+package com.travel.tripcost.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BatchTripResponse {
+    private List<Item> results; // Same order as the request
+
+    @Data
+    public static class Item {
+        private int index;
+        private TripResponse result; // null when the item failed
+        private String error; // null when the item succeeded
+    }
+}
@@ -0,0 +1,16 @@
+package com.travel.tripcost.dto;
+
+/**
+ * One city autocomplete suggestion, shaped for the search box rather than
+ * mirroring the {@code City} entity.
+ *
+ * @param hasCostData whether the city has a cost index, i.e. whether stay costs
+ *                    can be estimated from local prices
+ */
+public record CitySearchResult(
+        String id,
+        String name,
+        String country,
+        String iataCode,
+        boolean hasCostData) {
+}
@@ -0,0 +1,26 @@
+package com.travel.tripcost.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+
+import lombok.Data;
+
+@Data
+public class FareMatrixResponse {
+    private List<LocalDate> departureDates;
+    private List<LocalDate> returnDates;
+    private List<Cell> cells; // By departure date, then return date; impossible pairs are left out
+    private Cell cheapest; // Lowest total minimum, null when no cell could be priced
+
+    @Data
+    public static class Cell {
+        private LocalDate departureDate;
+        private LocalDate returnDate;
+        private int nights;
+        private CostRange transport; // null when the cell failed
+        private CostRange total; // null when the cell failed
+        private String error; // null when the cell succeeded
+    }
+}
@@ -1,7 +1,8 @@
 package com.travel.tripcost.dto;
 
-import java.math.BigDecimal;
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.travel.tripcost.domain.Money;
 import lombok.Data;
 
 @Data
@@ -16,26 +17,33 @@ public class TripResponse {
         private CostRange transport;
         private CostRange accommodation;
         private CostRange food;
+        private CostRange localTransit;
         private CostRange total;
     }
 
     @Data
     public static class CostRange {
-        private BigDecimal min;
-        private BigDecimal max;
+        private Money min; // Written as plain decimal numbers
+        private Money max;
         private String confidence; // "HIGH", "MEDIUM", "LOW"
+        @JsonIgnore
+        private boolean stale; // Served from an expired cache entry
+        @JsonIgnore
+        private boolean live; // Priced from an Amadeus fare, whatever the confidence
     }
 
     @Data
     public static class Metadata {
-        private String dataSource; // "Fallback" or "Live"
+        private String dataSource; // "Amadeus Live" or "Fallback Engine"
         private String generatedAt; // ISO timestamp
+        private boolean stale; // Transport price is a cached quote past its TTL
     }
 
     @Data
     public static class Alternative {
+        private String cityId;
         private String cityName;
-        private BigDecimal estimatedSaving;
+        private Money estimatedSaving;
     }
 
 }
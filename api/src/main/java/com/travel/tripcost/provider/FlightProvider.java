@@ -6,4 +6,11 @@ public interface FlightProvider {
 
     CostRange getFlightQuote(String originIata, String destinationIata, String startDate, String endDate, int travelers,
             String preference, double distanceKm);
+
+    /**
+     * Fetches and caches the quote for {@code key} ahead of demand. Providers
+     * without a cache have nothing to warm.
+     */
+    default void prefetch(FlightQuoteKey key) {
+    }
 }
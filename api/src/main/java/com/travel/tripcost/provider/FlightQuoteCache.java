@@ -0,0 +1,302 @@
+package com.travel.tripcost.provider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of live flight quotes that also coalesces concurrent misses: the first
+ * caller for a key runs the search and everyone else asking for that key in the
+ * meantime waits on the same future, getting its quote or its failure.
+ * <p>
+ * Each quote has a soft and a hard TTL picked by how far away its departure
+ * is, both jittered so that routes cached together don't all expire together.
+ * Past the soft TTL the quote is still returned while one background refresh
+ * replaces it; past the hard TTL callers wait for a new search. Quotes are kept
+ * for {@code max-stale} after that so {@link #getStale} can stand in when a
+ * search fails.
+ * <p>
+ * Lookups go through the cache's map view, which Caffeine doesn't count as
+ * hits or misses, so those are recorded here into the cache's own stats.
+ * Caffeine times the searches itself, from when a pending future is inserted
+ * until it completes; background refreshes swap in an already completed one,
+ * so they are timed separately in {@code flight.quotes.refreshes}.
+ */
+@Slf4j
+@Component
+public class FlightQuoteCache {
+
+    public static final String NAME = "flightQuotes";
+
+    private final AsyncCache<FlightQuoteKey, CachedQuote> cache;
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+    private final FlightQuoteCacheProperties properties;
+    private final Executor refreshExecutor;
+    private final Ticker ticker;
+    private final Clock clock;
+
+    private final Counter coalesced;
+    private final Timer refreshes;
+    private final Counter refreshFailures;
+
+    @Autowired
+    public FlightQuoteCache(MeterRegistry meterRegistry,
+            @Qualifier("estimationExecutor") Executor refreshExecutor,
+            FlightQuoteCacheProperties properties) {
+        this(meterRegistry, refreshExecutor, properties, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    FlightQuoteCache(MeterRegistry meterRegistry, Executor refreshExecutor, FlightQuoteCacheProperties properties,
+            Ticker ticker, Clock clock) {
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new Retention(properties.maxStale().toNanos()))
+                .maximumWeight(properties.maximumWeight())
+                .weigher(FlightQuoteCache::weigh)
+                .recordStats(() -> stats)
+                .ticker(ticker)
+                .buildAsync();
+
+        this.coalesced = Counter.builder("flight.quotes.coalesced")
+                .description("Flight quote lookups that joined a search already in flight")
+                .register(meterRegistry);
+        this.refreshes = Timer.builder("flight.quotes.refreshes")
+                .description("Background refreshes of flight quotes past their soft TTL")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("flight.quotes.refresh.failures")
+                .description("Background refreshes that failed and kept the previous quote")
+                .register(meterRegistry);
+        Gauge.builder("flight.quotes.hit.ratio", stats, s -> s.snapshot().hitRate())
+                .description("Share of flight quote lookups answered from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached quote for {@code key}, running {@code search} on the calling thread
+     * if there is no usable quote and no other caller is already fetching one.
+     */
+    public CostRange get(FlightQuoteKey key, Supplier<CostRange> search) {
+        while (true) {
+            CompletableFuture<CachedQuote> mine = new CompletableFuture<>();
+            CompletableFuture<CachedQuote> existing = cache.asMap().putIfAbsent(key, mine);
+            if (existing == null) {
+                stats.recordMisses(1);
+                return load(key, mine, null, search);
+            }
+            if (!existing.isDone()) {
+                stats.recordHits(1);
+                coalesced.increment();
+                return join(existing).quote();
+            }
+
+            CachedQuote cached = existing.getNow(null);
+            long now = ticker.read();
+            if (now < cached.softDeadline()) {
+                stats.recordHits(1);
+                return cached.quote();
+            }
+            if (now < cached.hardDeadline()) {
+                stats.recordHits(1);
+                refreshInBackground(key, existing, cached, search);
+                return cached.quote();
+            }
+            // Past the hard TTL: fetch again, but keep the old quote around if that fails
+            if (cache.asMap().replace(key, existing, mine)) {
+                stats.recordMisses(1);
+                return load(key, mine, existing, search);
+            }
+            // Someone else swapped the entry first; look again
+        }
+    }
+
+    /**
+     * Last quote cached for {@code key}, however old, as long as it is still
+     * retained.
+     */
+    public Optional<CostRange> getStale(FlightQuoteKey key) {
+        CompletableFuture<CachedQuote> future = cache.asMap().get(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(future.join().quote());
+    }
+
+    /**
+     * Whether {@code key} has no cached quote, or one whose soft TTL runs out
+     * within {@code horizon}. A search already in flight counts as fresh.
+     */
+    public boolean isDueForRefresh(FlightQuoteKey key, Duration horizon) {
+        CompletableFuture<CachedQuote> future = cache.asMap().get(key);
+        if (future == null || future.isCompletedExceptionally()) {
+            return true;
+        }
+        if (!future.isDone()) {
+            return false;
+        }
+        CachedQuote cached = future.join();
+        return !cached.refreshing().get() && ticker.read() + horizon.toNanos() - cached.softDeadline() >= 0;
+    }
+
+    /**
+     * Runs {@code search} on the calling thread and stores the result with fresh
+     * deadlines, unless a caller has started a search for the key meanwhile.
+     * Failures propagate and leave the cached quote as it was.
+     */
+    public void prefetch(FlightQuoteKey key, Supplier<CostRange> search) {
+        CompletableFuture<CachedQuote> fresh = CompletableFuture.completedFuture(cache(key, search.get()));
+        cache.asMap().compute(key, (k, existing) -> existing != null && !existing.isDone() ? existing : fresh);
+    }
+
+    public AsyncCache<FlightQuoteKey, CachedQuote> asyncCache() {
+        return cache;
+    }
+
+    /**
+     * Approximate retained size of an entry in bytes: a fixed part for the
+     * future, the quote and its two Money amounts, plus the key's strings.
+     */
+    static int weigh(FlightQuoteKey key, CachedQuote quote) {
+        return 256 + 2 * (length(key.origin()) + length(key.destination()) + length(key.startDate())
+                + length(key.endDate()) + length(key.preference()));
+    }
+
+    private CostRange load(FlightQuoteKey key, CompletableFuture<CachedQuote> mine,
+            CompletableFuture<CachedQuote> previous, Supplier<CostRange> search) {
+        try {
+            CachedQuote cached = cache(key, search.get());
+            mine.complete(cached);
+            return cached.quote();
+        } catch (RuntimeException | Error e) {
+            if (previous != null) {
+                cache.asMap().replace(key, mine, previous);
+            } else {
+                cache.asMap().remove(key, mine);
+            }
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void refreshInBackground(FlightQuoteKey key, CompletableFuture<CachedQuote> existing,
+            CachedQuote cached, Supplier<CostRange> search) {
+        if (!cached.refreshing().compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            long start = ticker.read();
+            try {
+                CachedQuote refreshed = cache(key, search.get());
+                refreshes.record(ticker.read() - start, TimeUnit.NANOSECONDS);
+                cache.asMap().replace(key, existing, CompletableFuture.completedFuture(refreshed));
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.debug("Background refresh of {} failed, keeping the cached quote: {}", key, e.getMessage());
+            } finally {
+                cached.refreshing().set(false);
+            }
+        });
+    }
+
+    private CachedQuote cache(FlightQuoteKey key, CostRange quote) {
+        FlightQuoteCacheProperties.Tier tier = properties.tierFor(untilDeparture(key));
+        long now = ticker.read();
+        return new CachedQuote(quote, now + jittered(tier.softTtl()), now + jittered(tier.hardTtl()),
+                new AtomicBoolean());
+    }
+
+    private Duration untilDeparture(FlightQuoteKey key) {
+        try {
+            LocalDate departure = LocalDate.parse(key.startDate());
+            return Duration.between(clock.instant(), departure.atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DateTimeParseException e) {
+            // Not a date we understand; use the shortest TTLs
+            return Duration.ZERO;
+        }
+    }
+
+    private long jittered(Duration ttl) {
+        long nanos = ttl.toNanos();
+        double jitter = properties.jitter();
+        return jitter <= 0 ? nanos : (long) (nanos * (1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter)));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static CachedQuote join(CompletableFuture<CachedQuote> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A quote with its jittered deadlines, as {@link Ticker} readings.
+     * {@code refreshing} is set while a background refresh is running so only
+     * one is started.
+     */
+    public record CachedQuote(CostRange quote, long softDeadline, long hardDeadline, AtomicBoolean refreshing) {
+    }
+
+    /**
+     * Keeps each quote until {@code maxStale} past its own hard deadline.
+     */
+    private record Retention(long maxStaleNanos) implements Expiry<FlightQuoteKey, CachedQuote> {
+
+        @Override
+        public long expireAfterCreate(FlightQuoteKey key, CachedQuote quote, long currentTime) {
+            return Math.max(0, quote.hardDeadline() - currentTime) + maxStaleNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(FlightQuoteKey key, CachedQuote quote, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, quote, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(FlightQuoteKey key, CachedQuote quote, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.travel.tripcost.provider;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for {@link FlightQuoteCache}, bound from {@code flight-quotes.*}.
+ * Quote TTLs depend on how far away the departure is: {@code ttl} holds one
+ * tier per horizon, and a quote uses the first tier whose
+ * {@code departure-within} covers its departure date (the last tier covers
+ * anything further out).
+ *
+ * @param maxStale      how long a quote is kept past its hard TTL to stand in
+ *                      for failed searches
+ * @param jitter        fraction by which each TTL is randomly shortened or
+ *                      lengthened
+ * @param maximumWeight approximate bytes the cache may hold, see
+ *                      {@link FlightQuoteCache#weigh}
+ */
+@ConfigurationProperties("flight-quotes")
+public record FlightQuoteCacheProperties(
+        @DefaultValue("PT6H") Duration maxStale,
+        @DefaultValue("0.1") double jitter,
+        @DefaultValue("524288") long maximumWeight,
+        List<Tier> ttl) {
+
+    public FlightQuoteCacheProperties {
+        ttl = ttl == null || ttl.isEmpty()
+                ? List.of(
+                        new Tier(Duration.ofDays(7), Duration.ofMinutes(5), Duration.ofMinutes(10)),
+                        new Tier(Duration.ofDays(30), Duration.ofMinutes(10), Duration.ofMinutes(15)),
+                        new Tier(Duration.ofDays(90), Duration.ofMinutes(30), Duration.ofHours(1)),
+                        new Tier(Duration.ofDays(3650), Duration.ofHours(2), Duration.ofHours(6)))
+                : ttl.stream().sorted(Comparator.comparing(Tier::departureWithin)).toList();
+    }
+
+    /**
+     * Soft and hard TTL for quotes departing within {@code departureWithin}.
+     */
+    public record Tier(Duration departureWithin, Duration softTtl, Duration hardTtl) {
+    }
+
+    public Tier tierFor(Duration untilDeparture) {
+        for (Tier tier : ttl) {
+            if (untilDeparture.compareTo(tier.departureWithin()) <= 0) {
+                return tier;
+            }
+        }
+        return ttl.get(ttl.size() - 1);
+    }
+}
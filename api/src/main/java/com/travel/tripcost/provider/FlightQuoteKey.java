@@ -0,0 +1,17 @@
+package com.travel.tripcost.provider;
+
+/**
+ * Identity of a flight quote: two requests with equal keys get the same quote
+ * from a {@link FlightProvider}. Origin and destination are IATA codes for live
+ * quotes and city ids for the fallback estimator, so {@code live} keeps the two
+ * apart.
+ */
+public record FlightQuoteKey(
+        String origin,
+        String destination,
+        String startDate,
+        String endDate,
+        int travellers,
+        String preference,
+        boolean live) {
+}
@@ -1,8 +1,8 @@
 package com.travel.tripcost.provider;
 
 import org.springframework.stereotype.Component;
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripResponse.CostRange;
-import java.math.BigDecimal;
 
 @Component("mockFlightProvider")
 public class MockFlightProvider implements FlightProvider {
@@ -27,8 +27,8 @@ public class MockFlightProvider implements FlightProvider {
         double estimatedPerPerson = basePrice + (distanceKm * costPerKm);
 
         CostRange range = new CostRange();
-        range.setMin(BigDecimal.valueOf(estimatedPerPerson * 0.9 * travelers));
-        range.setMax(BigDecimal.valueOf(estimatedPerPerson * 1.1 * travelers));
+        range.setMin(Money.ofMajor(estimatedPerPerson * 0.9 * travelers));
+        range.setMax(Money.ofMajor(estimatedPerPerson * 1.1 * travelers));
         range.setConfidence("MEDIUM");
         return range;
     }
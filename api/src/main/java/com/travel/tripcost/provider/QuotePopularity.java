@@ -0,0 +1,82 @@
+package com.travel.tripcost.provider;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decaying request counts per live quote key. {@link #decay} is called on a
+ * schedule, so a key's score tracks recent demand rather than all-time totals.
+ * At most {@code max-tracked} keys are held; new keys are ignored while full
+ * until a decay prunes the coldest.
+ */
+@Component
+public class QuotePopularity {
+
+    private final Map<FlightQuoteKey, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    @Value("${prefetch.max-tracked:5000}")
+    private int maxTracked = 5000;
+
+    public void record(FlightQuoteKey key) {
+        AtomicLong count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            count = counts.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Most requested keys first, skipping those whose departure has passed.
+     */
+    public List<FlightQuoteKey> hottest(int limit, LocalDate today) {
+        return counts.entrySet().stream()
+                .filter(entry -> !departed(entry.getKey(), today))
+                .sorted(Map.Entry.<FlightQuoteKey, AtomicLong>comparingByValue(
+                        Comparator.comparingLong(AtomicLong::get)).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Scales every count by {@code factor}, dropping keys that reach zero or
+     * have departed, then trims the coldest tenth if the map is full.
+     */
+    public void decay(double factor, LocalDate today) {
+        counts.entrySet().removeIf(entry -> {
+            long decayed = (long) (entry.getValue().get() * factor);
+            entry.getValue().set(decayed);
+            return decayed == 0 || departed(entry.getKey(), today);
+        });
+        if (counts.size() >= maxTracked) {
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(AtomicLong::get)))
+                    .limit(maxTracked / 10)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(counts::remove);
+        }
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private static boolean departed(FlightQuoteKey key, LocalDate today) {
+        try {
+            return LocalDate.parse(key.startDate()).isBefore(today);
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.travel.tripcost.provider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.provider.amadeus.AmadeusRateGovernor;
+import com.travel.tripcost.provider.amadeus.AmadeusRateLimitException;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the most requested live quotes warm. Every {@code prefetch.interval}
+ * the hottest keys from {@link QuotePopularity} whose soft TTL is about to run
+ * out are searched again in the background, so the next trip estimate for them
+ * is a cache hit rather than an Amadeus round trip.
+ * <p>
+ * A pass may spend at most {@code quota-share} of the Amadeus requests the
+ * rate governor allows over one interval, and only while the governor has
+ * capacity to spare. Off-peak hours get a larger share and a longer horizon,
+ * which moves most refreshes out of busy periods.
+ */
+@Slf4j
+@Component
+public class QuotePrefetcher {
+
+    private final QuotePopularity popularity;
+    private final FlightProvider flightProvider;
+    private final FlightQuoteCache quoteCache;
+    private final AmadeusRateGovernor rateGovernor;
+    private final Executor executor;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter prefetched;
+    private final Counter failed;
+    private final Counter deferred;
+
+    @Value("${prefetch.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${prefetch.interval:PT1M}")
+    private Duration interval = Duration.ofMinutes(1);
+
+    @Value("${prefetch.candidates:200}")
+    private int candidates = 200;
+
+    @Value("${prefetch.decay:0.8}")
+    private double decay = 0.8;
+
+    @Value("${prefetch.quota-share:0.1}")
+    private double quotaShare = 0.1;
+
+    @Value("${prefetch.horizon:PT2M}")
+    private Duration horizon = Duration.ofMinutes(2);
+
+    @Value("${prefetch.off-peak.quota-share:0.5}")
+    private double offPeakQuotaShare = 0.5;
+
+    @Value("${prefetch.off-peak.horizon:PT30M}")
+    private Duration offPeakHorizon = Duration.ofMinutes(30);
+
+    @Value("${prefetch.off-peak.start-hour:1}")
+    private int offPeakStartHour = 1;
+
+    @Value("${prefetch.off-peak.end-hour:6}")
+    private int offPeakEndHour = 6;
+
+    @Value("${prefetch.off-peak.zone:UTC}")
+    private String offPeakZone = "UTC";
+
+    @Value("${amadeus.rate-limit.requests-per-second:10}")
+    private double requestsPerSecond = 10;
+
+    @Autowired
+    public QuotePrefetcher(QuotePopularity popularity,
+            @Qualifier("realFlightProvider") FlightProvider flightProvider,
+            FlightQuoteCache quoteCache, AmadeusRateGovernor rateGovernor,
+            @Qualifier("estimationExecutor") Executor executor, MeterRegistry meterRegistry) {
+        this(popularity, flightProvider, quoteCache, rateGovernor, executor, meterRegistry, Clock.systemUTC());
+    }
+
+    QuotePrefetcher(QuotePopularity popularity, FlightProvider flightProvider, FlightQuoteCache quoteCache,
+            AmadeusRateGovernor rateGovernor, Executor executor, MeterRegistry meterRegistry, Clock clock) {
+        this.popularity = popularity;
+        this.flightProvider = flightProvider;
+        this.quoteCache = quoteCache;
+        this.rateGovernor = rateGovernor;
+        this.executor = executor;
+        this.clock = clock;
+
+        this.prefetched = Counter.builder("flight.quotes.prefetch")
+                .tag("outcome", "success")
+                .description("Popular flight quotes refreshed ahead of expiry")
+                .register(meterRegistry);
+        this.failed = Counter.builder("flight.quotes.prefetch")
+                .tag("outcome", "failure")
+                .description("Popular flight quotes refreshed ahead of expiry")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("flight.quotes.prefetch.deferred")
+                .description("Prefetch passes cut short because Amadeus had no spare capacity")
+                .register(meterRegistry);
+        Gauge.builder("flight.quotes.prefetch.tracked", popularity, QuotePopularity::size)
+                .description("Quote keys with a tracked popularity")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${prefetch.interval:PT1M}", initialDelayString = "${prefetch.interval:PT1M}")
+    public void schedule() {
+        if (!enabled) {
+            return;
+        }
+        popularity.decay(decay, LocalDate.now(clock));
+        // Searches can take seconds, so passes run off the shared scheduler thread, one at a time
+        if (running.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    prefetchHottest();
+                } catch (RuntimeException e) {
+                    log.warn("Quote prefetch pass failed: {}", e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * One pass over the hottest keys, returning how many searches it made.
+     */
+    int prefetchHottest() {
+        boolean offPeak = isOffPeak();
+        int budget = (int) (requestsPerSecond * interval.toSeconds() * (offPeak ? offPeakQuotaShare : quotaShare));
+        Duration due = offPeak ? offPeakHorizon : horizon;
+        long deadline = System.nanoTime() + interval.toNanos();
+
+        int searches = 0;
+        for (FlightQuoteKey key : popularity.hottest(candidates, LocalDate.now(clock))) {
+            if (searches >= budget || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            if (!quoteCache.isDueForRefresh(key, due)) {
+                continue;
+            }
+            if (!rateGovernor.hasSpareCapacity()) {
+                deferred.increment();
+                break;
+            }
+            searches++;
+            try {
+                flightProvider.prefetch(key);
+                prefetched.increment();
+            } catch (CallNotPermittedException | AmadeusRateLimitException e) {
+                // Amadeus is down or pushing back; leave it to interactive traffic
+                failed.increment();
+                break;
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.debug("Prefetch of {} failed: {}", key, e.getMessage());
+            }
+        }
+        if (searches > 0) {
+            log.debug("Prefetched {} popular quotes ({} budget, off-peak: {})", searches, budget, offPeak);
+        }
+        return searches;
+    }
+
+    private boolean isOffPeak() {
+        int hour = clock.instant().atZone(ZoneId.of(offPeakZone)).getHour();
+        return offPeakStartHour <= offPeakEndHour
+                ? hour >= offPeakStartHour && hour < offPeakEndHour
+                : hour >= offPeakStartHour || hour < offPeakEndHour;
+    }
+}
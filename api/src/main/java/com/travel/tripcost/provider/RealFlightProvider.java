@@ -1,15 +1,17 @@
 package com.travel.tripcost.provider;
 
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripResponse.CostRange;
 import com.travel.tripcost.provider.amadeus.AmadeusApiClient;
 import com.travel.tripcost.provider.amadeus.FlightOfferRequest;
-import com.travel.tripcost.provider.amadeus.FlightOfferResponse;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import java.math.BigDecimal;
-import java.util.Comparator;
-import java.util.List;
+import com.travel.tripcost.provider.amadeus.FlightPriceSummary;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
@@ -21,19 +23,51 @@ public class RealFlightProvider implements FlightProvider {
 
     private final AmadeusApiClient amadeusApiClient;
     private final FlightProvider fallbackProvider;
+    private final FlightQuoteCache quoteCache;
+    private final QuotePopularity popularity;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
 
     public RealFlightProvider(AmadeusApiClient amadeusApiClient,
-            @Qualifier("mockFlightProvider") FlightProvider fallbackProvider) {
+            @Qualifier("mockFlightProvider") FlightProvider fallbackProvider,
+            FlightQuoteCache quoteCache, QuotePopularity popularity,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
         this.amadeusApiClient = amadeusApiClient;
         this.fallbackProvider = fallbackProvider;
+        this.quoteCache = quoteCache;
+        this.popularity = popularity;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("flightApi");
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
-    @Cacheable(value = "flightQuotes", key = "#originIata + #destIata + #startDate + #endDate + #travelers + #preference")
-    @CircuitBreaker(name = "flightApi", fallbackMethod = "fallbackQuote")
     public CostRange getFlightQuote(String originIata, String destIata,
             String startDate, String endDate,
             int travelers, String preference, double distanceKm) {
+        FlightQuoteKey key = quoteKey(originIata, destIata, startDate, endDate, travelers, preference);
+        popularity.record(key);
+        // The breaker guards the Amadeus search only, so cached quotes are served even while it is open
+        try {
+            return quoteCache.get(key, () -> circuitBreaker.executeSupplier(() -> searchFlights(originIata,
+                    destIata, startDate, endDate, travelers, preference)));
+        } catch (RuntimeException e) {
+            return fallbackQuote(originIata, destIata, startDate, endDate, travelers, preference, distanceKm, e);
+        }
+    }
+
+    /**
+     * Searches Amadeus for {@code key} and replaces its cached quote, without
+     * counting towards its popularity. Failures propagate to the caller.
+     */
+    @Override
+    public void prefetch(FlightQuoteKey key) {
+        quoteCache.prefetch(key, () -> circuitBreaker.executeSupplier(() -> searchFlights(key.origin(),
+                key.destination(), key.startDate(), key.endDate(), key.travellers(), key.preference())));
+    }
+
+    private CostRange searchFlights(String originIata, String destIata,
+            String startDate, String endDate,
+            int travelers, String preference) {
         log.info("Fetching live flight offers from Amadeus for {} -> {} ({} travelers, {} - {})", originIata,
                 destIata, travelers, startDate, endDate);
 
@@ -46,26 +80,26 @@ public class RealFlightProvider implements FlightProvider {
                 .travelClass(mapPreferenceToTravelClass(preference))
                 .build();
 
-        FlightOfferResponse response = amadeusApiClient.searchFlights(request);
-        List<FlightOfferResponse.FlightOffer> offers = response != null ? response.getData() : List.of();
+        FlightPriceSummary summary = amadeusApiClient.searchFlightPrices(request);
 
-        if (offers == null || offers.isEmpty()) {
+        if (summary.offers() == 0) {
             throw new IllegalStateException("Amadeus returned no flight offers");
         }
-
-        List<BigDecimal> totals = offers.stream()
-                .filter(o -> o.getPrice() != null && o.getPrice().getGrandTotal() != null)
-                .map(o -> new BigDecimal(o.getPrice().getGrandTotal()))
-                .toList();
-
-        if (totals.isEmpty()) {
+        if (summary.pricedOffers() == 0) {
             throw new IllegalStateException("Amadeus flight offers missing price information");
         }
 
+        // Stay costs are in USD; a fare in amadeus.default.currency cannot be added to them
+        if (!Money.USD.equals(summary.currency())) {
+            throw new IllegalStateException("Amadeus priced offers in " + summary.currency()
+                    + ", estimates are in " + Money.USD);
+        }
+
         CostRange range = new CostRange();
-        range.setMin(totals.stream().min(Comparator.naturalOrder()).orElseThrow());
-        range.setMax(totals.stream().max(Comparator.naturalOrder()).orElseThrow());
+        range.setMin(Money.of(summary.min(), summary.currency()));
+        range.setMax(Money.of(summary.max(), summary.currency()));
         range.setConfidence("HIGH");
+        range.setLive(true);
 
         return range;
     }
@@ -74,11 +108,45 @@ public class RealFlightProvider implements FlightProvider {
             String startDate, String endDate,
             int travelers, String preference, double distanceKm,
             Throwable t) {
+        FlightQuoteKey key = quoteKey(originIata, destIata, startDate, endDate, travelers, preference);
+        Optional<CostRange> stale = quoteCache.getStale(key);
+        countFallback(meterRegistry, t instanceof CallNotPermittedException ? "breaker_open" : "search_failed",
+                stale.isPresent() ? "stale" : "estimate");
+        if (stale.isPresent()) {
+            log.warn("Flight search failed, serving last cached quote for {} -> {}: {}", originIata, destIata,
+                    t.getMessage());
+            CostRange range = new CostRange();
+            range.setMin(stale.get().getMin());
+            range.setMax(stale.get().getMax());
+            range.setConfidence(stale.get().getConfidence());
+            range.setStale(true);
+            range.setLive(stale.get().isLive());
+            return range;
+        }
+
         log.warn("Circuit breaker fallback triggered: {}", t.getMessage());
         return fallbackProvider.getFlightQuote(originIata, destIata, startDate, endDate, travelers, preference,
                 distanceKm);
     }
 
+    /**
+     * Counts an estimate that could not use a live quote, by why not and
+     * whether a stale quote or the formula stood in.
+     */
+    public static void countFallback(MeterRegistry meterRegistry, String reason, String served) {
+        Counter.builder("flight.quotes.fallback")
+                .tag("reason", reason)
+                .tag("served", served)
+                .description("Transport estimates served without a live flight quote")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static FlightQuoteKey quoteKey(String originIata, String destIata, String startDate, String endDate,
+            int travelers, String preference) {
+        return new FlightQuoteKey(originIata, destIata, startDate, endDate, travelers, preference, true);
+    }
+
     private String mapPreferenceToTravelClass(String preference) {
         if (preference == null) {
             return "ECONOMY";
@@ -1,8 +1,20 @@
 package com.travel.tripcost.provider.amadeus;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -14,15 +26,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AmadeusApiClient {
 
     private final RestTemplate restTemplate;
     private final AmadeusTokenService tokenService;
+    private final AmadeusRateGovernor rateGovernor;
+
+    // Search latency from permit to response, by how the call ended
+    private final Timer succeeded;
+    private final Timer unauthorized;
+    private final Timer rateLimited;
+    private final Timer failed;
 
     @Value("${amadeus.api.url:https://test.api.amadeus.com}")
     private String apiUrl;
@@ -33,14 +50,62 @@ public class AmadeusApiClient {
     @Value("${amadeus.default.max:5}")
     private int defaultMax;
 
+    // Bind the whole response and log it, instead of streaming out the prices
+    @Value("${amadeus.debug.full-binding:false}")
+    private boolean fullBinding;
+
+    public AmadeusApiClient(RestTemplate restTemplate, AmadeusTokenService tokenService,
+            AmadeusRateGovernor rateGovernor, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.tokenService = tokenService;
+        this.rateGovernor = rateGovernor;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.succeeded = requestTimer(registry, "2xx");
+        this.unauthorized = requestTimer(registry, "401_retry");
+        this.rateLimited = requestTimer(registry, "429");
+        this.failed = requestTimer(registry, "error");
+    }
+
+    /**
+     * Runs a search and binds the complete response, itineraries and
+     * dictionaries included.
+     */
     public FlightOfferResponse searchFlights(FlightOfferRequest request) {
         FlightOfferRequest enriched = applyDefaults(request);
         validate(enriched);
-        return execute(enriched, true);
+        return execute(enriched, true, this::bindFully);
+    }
+
+    /**
+     * Runs a search and reads only the prices and itinerary durations from the
+     * response stream.
+     */
+    public FlightPriceSummary searchFlightPrices(FlightOfferRequest request) {
+        FlightOfferRequest enriched = applyDefaults(request);
+        validate(enriched);
+        if (fullBinding) {
+            FlightOfferResponse response = execute(enriched, true, this::bindFully);
+            log.debug("Amadeus flight offers for {} -> {}: {}", enriched.getOriginLocationCode(),
+                    enriched.getDestinationLocationCode(), response);
+            return FlightPriceSummary.of(response);
+        }
+        return execute(enriched, true, (uri, headers) -> restTemplate.execute(uri.template(), HttpMethod.GET,
+                httpRequest -> httpRequest.getHeaders().putAll(headers),
+                httpResponse -> FlightOfferStreamReader.read(httpResponse.getBody()), uri.variables()));
     }
 
     @SuppressWarnings("null")
-    private FlightOfferResponse execute(FlightOfferRequest request, boolean allowRetry) {
+    private FlightOfferResponse bindFully(SearchUri uri, HttpHeaders headers) {
+        ResponseEntity<FlightOfferResponse> response = restTemplate.exchange(uri.template(), HttpMethod.GET,
+                new HttpEntity<>(headers), FlightOfferResponse.class, uri.variables());
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            return response.getBody();
+        }
+        throw new RuntimeException("Amadeus flight search failed: " + response.getStatusCode());
+    }
+
+    private <T> T execute(FlightOfferRequest request, boolean allowRetry, BiFunction<SearchUri, HttpHeaders, T> call) {
         String accessToken = tokenService.getAccessToken();
         if (accessToken == null) {
             throw new IllegalStateException("Failed to obtain access token from Amadeus");
@@ -49,53 +114,101 @@ public class AmadeusApiClient {
         headers.setBearerAuth(accessToken);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
 
-        String url = buildUrl(request);
+        SearchUri uri = searchUri(request);
+        AmadeusRateGovernor.Permit permit = rateGovernor.acquire();
+        long start = System.nanoTime();
         try {
-            ResponseEntity<FlightOfferResponse> response = restTemplate.exchange(
-                    url, HttpMethod.GET, new HttpEntity<>(headers), FlightOfferResponse.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return response.getBody();
-            }
-            throw new RuntimeException("Amadeus flight search failed: " + response.getStatusCode());
+            T result = call.apply(uri, headers);
+            succeeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            permit.succeeded();
+            return result;
         } catch (HttpClientErrorException.Unauthorized ex) {
+            (allowRetry ? unauthorized : failed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             if (allowRetry) {
                 log.warn("Amadeus returned 401 (token expired). Refreshing token and retrying once.");
-                tokenService.invalidateToken();
-                return execute(request, false);
+                permit.close();
+                tokenService.invalidateToken(accessToken);
+                return execute(request, false, call);
             }
             throw ex;
         } catch (HttpClientErrorException.TooManyRequests ex) {
-            log.warn("Amadeus rate limit exceeded (429). Consider reducing request frequency. Body: {}",
-                    ex.getResponseBodyAsString());
-            throw new RuntimeException("Amadeus API rate limit exceeded. Please try again later.", ex);
+            rateLimited.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            permit.rateLimited(retryAfter(ex.getResponseHeaders()));
+            log.warn("Amadeus rate limit exceeded (429). Body: {}", ex.getResponseBodyAsString());
+            throw new AmadeusRateLimitException("Amadeus API rate limit exceeded. Please try again later.", ex);
         } catch (HttpStatusCodeException ex) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.error("Amadeus call failed with status {} and body {}", ex.getStatusCode(),
                     ex.getResponseBodyAsString());
             throw ex;
         } catch (RestClientException ex) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.error("Amadeus call failed: {}", ex.getMessage());
             throw ex;
+        } catch (RuntimeException ex) {
+            // Parse failures and the like from the response handler
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        } finally {
+            permit.close();
         }
     }
 
-    private String buildUrl(FlightOfferRequest request) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl(apiUrl + "/v2/shopping/flight-offers")
-                .queryParam("originLocationCode", request.getOriginLocationCode())
-                .queryParam("destinationLocationCode", request.getDestinationLocationCode())
-                .queryParam("departureDate", request.getDepartureDate())
-                .queryParam("adults", request.getAdults())
-                .queryParam("currencyCode", request.getCurrencyCode())
-                .queryParam("max", request.getMax());
+    private static Timer requestTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("amadeus.http.requests")
+                .tag("outcome", outcome)
+                .description("Amadeus flight searches by outcome")
+                .register(registry);
+    }
+
+    // Retry-After is either delay-seconds or an HTTP date
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration until = Duration.between(Instant.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A search URL as a template and its variables. RestTemplate tags
+     * {@code http.client.requests} with the template, so it has to stay the
+     * same across routes and dates.
+     */
+    private record SearchUri(String template, Map<String, Object> variables) {
+    }
+
+    private SearchUri searchUri(FlightOfferRequest request) {
+        StringBuilder template = new StringBuilder(apiUrl).append("/v2/shopping/flight-offers"
+                + "?originLocationCode={origin}&destinationLocationCode={destination}&departureDate={departureDate}"
+                + "&adults={adults}&currencyCode={currencyCode}&max={max}");
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("origin", request.getOriginLocationCode());
+        variables.put("destination", request.getDestinationLocationCode());
+        variables.put("departureDate", request.getDepartureDate());
+        variables.put("adults", request.getAdults());
+        variables.put("currencyCode", request.getCurrencyCode());
+        variables.put("max", request.getMax());
 
         if (request.getReturnDate() != null && !request.getReturnDate().isBlank()) {
-            builder.queryParam("returnDate", request.getReturnDate());
+            template.append("&returnDate={returnDate}");
+            variables.put("returnDate", request.getReturnDate());
         }
         if (request.getTravelClass() != null && !request.getTravelClass().isBlank()) {
-            builder.queryParam("travelClass", request.getTravelClass());
+            template.append("&travelClass={travelClass}");
+            variables.put("travelClass", request.getTravelClass());
         }
-        return builder.toUriString();
+        return new SearchUri(template.toString(), variables);
     }
 
     private FlightOfferRequest applyDefaults(FlightOfferRequest request) {
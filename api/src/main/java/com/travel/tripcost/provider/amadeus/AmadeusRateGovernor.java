@@ -0,0 +1,231 @@
+package com.travel.tripcost.provider.amadeus;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paces outbound flight searches to the Amadeus quota. A call needs both a
+ * token from a bucket refilled at {@code requests-per-second} and one of
+ * {@code limit} concurrency slots. The limit adapts AIMD-style: it grows by
+ * about one per window of successful calls and halves on a 429, and a
+ * {@code Retry-After} pauses all calls until it has passed. Callers that can't
+ * get through wait up to {@code queue-timeout} and are then rejected with
+ * {@link AmadeusRateLimitException} without touching the wire.
+ */
+@Slf4j
+@Component
+public class AmadeusRateGovernor {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final double minLimit;
+    private final double maxLimit;
+    private final long queueTimeoutNanos;
+    private final long defaultRetryAfterNanos;
+
+    // Guarded by lock; the gauges read them without it
+    private double tokens;
+    private long refilledAt;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntil;
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final Counter throttled;
+
+    @Autowired
+    public AmadeusRateGovernor(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${amadeus.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${amadeus.rate-limit.burst:10}") int burst,
+            @Value("${amadeus.rate-limit.initial-concurrency:4}") int initialConcurrency,
+            @Value("${amadeus.rate-limit.max-concurrency:16}") int maxConcurrency,
+            @Value("${amadeus.rate-limit.queue-timeout:PT2S}") Duration queueTimeout,
+            @Value("${amadeus.rate-limit.default-retry-after:PT1S}") Duration defaultRetryAfter) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), requestsPerSecond, burst, initialConcurrency,
+                maxConcurrency, queueTimeout, defaultRetryAfter);
+    }
+
+    AmadeusRateGovernor(MeterRegistry meterRegistry, double requestsPerSecond, int burst, int initialConcurrency,
+            int maxConcurrency, Duration queueTimeout, Duration defaultRetryAfter) {
+        this.permitsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.minLimit = 1;
+        this.maxLimit = maxConcurrency;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.defaultRetryAfterNanos = defaultRetryAfter.toNanos();
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+        this.limit = Math.min(initialConcurrency, maxConcurrency);
+        this.pausedUntil = refilledAt;
+
+        Gauge.builder("amadeus.governor.queue.depth", this, g -> g.waiting)
+                .description("Flight searches waiting for a token or a concurrency slot")
+                .register(meterRegistry);
+        Gauge.builder("amadeus.governor.in.flight", this, g -> g.inFlight)
+                .description("Flight searches currently on the wire")
+                .register(meterRegistry);
+        Gauge.builder("amadeus.governor.limit", this, g -> Math.floor(g.limit))
+                .description("Current adaptive concurrency limit for flight searches")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("amadeus.governor.wait")
+                .description("Time flight searches spent queued before being sent")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("amadeus.governor.rejected")
+                .description("Flight searches dropped after waiting past the queue timeout")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("amadeus.governor.throttled")
+                .description("Flight searches Amadeus answered with 429")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for a token and a concurrency slot. The returned permit must be
+     * closed once the call is over, after reporting its outcome if it had one.
+     *
+     * @throws AmadeusRateLimitException if none came free within the queue
+     *                                   timeout
+     */
+    public Permit acquire() {
+        long start = System.nanoTime();
+        long deadline = start + queueTimeoutNanos;
+        lock.lock();
+        waiting++;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos;
+                if (now - pausedUntil < 0) {
+                    waitNanos = pausedUntil - now;
+                } else if (inFlight >= (int) limit) {
+                    waitNanos = deadline - now; // Until a permit is released
+                } else {
+                    refill(now);
+                    if (tokens >= 1) {
+                        tokens -= 1;
+                        inFlight++;
+                        waitTimer.record(now - start, TimeUnit.NANOSECONDS);
+                        return new Permit();
+                    }
+                    waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+                }
+
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    rejected.increment();
+                    waitTimer.record(now - start, TimeUnit.NANOSECONDS);
+                    throw new AmadeusRateLimitException("Amadeus request quota exhausted, waited "
+                            + Duration.ofNanos(now - start).toMillis() + " ms");
+                }
+                changed.awaitNanos(Math.min(waitNanos, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmadeusRateLimitException("Interrupted while waiting for the Amadeus rate limiter", e);
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a background call could go out now without competing with
+     * interactive ones: nobody is queued, no 429 pause is running, a token is
+     * spare and at most half the concurrency limit is in use. A limit of one
+     * counts as spare while idle, so prefetching survives a 429 halving.
+     */
+    public boolean hasSpareCapacity() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (waiting > 0 || now - pausedUntil < 0 || inFlight * 2 > (int) limit) {
+                return false;
+            }
+            refill(now);
+            return tokens >= 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+
+    /**
+     * One admitted call. Report {@link #succeeded} or {@link #rateLimited} when
+     * the outcome is known; other failures leave the limit alone.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private boolean released;
+
+        private Permit() {
+        }
+
+        public void succeeded() {
+            lock.lock();
+            try {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Amadeus answered 429. Halves the limit and holds every call back for
+         * {@code retryAfter}, or the configured default when Amadeus sent none.
+         */
+        public void rateLimited(Duration retryAfter) {
+            throttled.increment();
+            long pause = retryAfter == null ? defaultRetryAfterNanos : retryAfter.toNanos();
+            lock.lock();
+            try {
+                limit = Math.max(minLimit, limit / 2);
+                long until = System.nanoTime() + pause;
+                if (until - pausedUntil > 0) {
+                    pausedUntil = until;
+                }
+                tokens = 0;
+                refilledAt = until;
+                log.warn("Amadeus rate limit hit; concurrency limit now {}, pausing for {} ms", (int) limit,
+                        TimeUnit.NANOSECONDS.toMillis(pause));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!released) {
+                    released = true;
+                    inFlight--;
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
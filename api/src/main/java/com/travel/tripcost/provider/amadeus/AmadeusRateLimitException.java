@@ -0,0 +1,17 @@
+package com.travel.tripcost.provider.amadeus;
+
+/**
+ * A flight search was not made, or was refused by Amadeus, because we are over
+ * our request quota. It says nothing about Amadeus' health, so the
+ * {@code flightApi} circuit breaker ignores it.
+ */
+public class AmadeusRateLimitException extends RuntimeException {
+
+    public AmadeusRateLimitException(String message) {
+        super(message);
+    }
+
+    public AmadeusRateLimitException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,18 +1,32 @@
 package com.travel.tripcost.provider.amadeus;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages Amadeus OAuth2 access tokens.
- * Automatically fetches and caches tokens, refreshing them before expiration.
+ * The current token sits in an atomic holder, so readers never block. Only
+ * one fetch runs at a time; callers that need a token meanwhile wait for that
+ * fetch rather than starting their own. A scheduled check renews the token
+ * ahead of expiry so requests rarely wait at all.
  */
 @Slf4j
 @Service
@@ -29,33 +43,104 @@ public class AmadeusTokenService {
     @Value("${amadeus.client.secret:}")
     private String clientSecret;
 
-    // Token cache
-    private String cachedToken;
-    private Instant tokenExpiry;
+    // Renew in the background once less than this much validity is left
+    @Value("${amadeus.token.refresh-ahead:PT5M}")
+    private Duration refreshAhead = Duration.ofMinutes(5);
+
+    private final AtomicReference<Token> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Token>> inFlight = new AtomicReference<>();
+
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
 
-    public AmadeusTokenService(RestTemplate restTemplate) {
+    public AmadeusTokenService(RestTemplate restTemplate, ObjectProvider<MeterRegistry> meterRegistry) {
         this.restTemplate = restTemplate;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.refreshSuccess = refreshTimer(registry, "success");
+        this.refreshFailure = refreshTimer(registry, "failure");
+        Gauge.builder("amadeus.token.expires.in", current, ref -> {
+            Token token = ref.get();
+            return token == null ? 0 : Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toSeconds());
+        }).description("Seconds until the cached Amadeus token expires").baseUnit("seconds").register(registry);
     }
 
     /**
      * Returns a valid access token.
      * If cached token is still valid (with 60s buffer), returns it.
-     * Otherwise, fetches a new token from Amadeus.
+     * Otherwise, fetches a new token from Amadeus, or waits for the fetch
+     * already under way.
      */
-    public synchronized String getAccessToken() {
-        // Check if we have a valid cached token (with 60s safety buffer)
-        if (cachedToken != null && tokenExpiry != null
-                && Instant.now().plusSeconds(60).isBefore(tokenExpiry)) {
-            log.debug("Using cached Amadeus token (expires at {})", tokenExpiry);
-            return cachedToken;
+    public String getAccessToken() {
+        Token token = current.get();
+        if (token != null && token.validAt(Instant.now().plusSeconds(60))) {
+            return token.value();
         }
+        return refresh().value();
+    }
 
-        log.info("Fetching new Amadeus access token...");
-        return fetchNewToken();
+    /**
+     * Renews the token ahead of expiry. Only runs once a token has been issued,
+     * so an idle or unconfigured instance never calls Amadeus.
+     */
+    @Scheduled(fixedDelayString = "${amadeus.token.refresh-check:PT30S}")
+    public void refreshAhead() {
+        Token token = current.get();
+        if (token == null || token.validAt(Instant.now().plus(refreshAhead))) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // The next check, or the next request, tries again
+            log.warn("Proactive Amadeus token refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops {@code rejected} after Amadeus answered 401 for it. Callers that got
+     * a 401 for the same token drop it only once; a token fetched since is kept.
+     */
+    public void invalidateToken(String rejected) {
+        Token token = current.get();
+        if (token != null && token.value().equals(rejected) && current.compareAndSet(token, null)) {
+            log.info("Invalidating cached Amadeus token");
+        }
     }
 
-    private String fetchNewToken() {
+    /**
+     * Force refresh the token (useful if we get a 401 during API call)
+     */
+    public void invalidateToken() {
+        log.info("Invalidating cached Amadeus token");
+        current.set(null);
+    }
+
+    // Single-flight: the first caller fetches, the rest wait for its result
+    private Token refresh() {
+        Token seen = current.get();
+        CompletableFuture<Token> mine = new CompletableFuture<>();
+        CompletableFuture<Token> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            Token latest = current.get();
+            // A fetch that finished just before ours started already replaced the token
+            Token token = latest != null && latest != seen ? latest : fetchNewToken();
+            current.set(token);
+            mine.complete(token);
+            return token;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private Token fetchNewToken() {
         ensureCredentialsPresent();
+        log.info("Fetching new Amadeus access token...");
         String tokenUrl = apiUrl + "/v1/security/oauth2/token";
 
         HttpHeaders headers = new HttpHeaders();
@@ -68,6 +153,7 @@ public class AmadeusTokenService {
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
 
+        long start = System.nanoTime();
         try {
             @SuppressWarnings("null")
             ResponseEntity<TokenResponse> response = restTemplate.exchange(
@@ -78,28 +164,19 @@ public class AmadeusTokenService {
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 TokenResponse tokenResponse = java.util.Objects.requireNonNull(response.getBody());
-                cachedToken = tokenResponse.access_token;
-                tokenExpiry = Instant.now().plusSeconds(tokenResponse.expires_in);
+                refreshSuccess.record(Duration.ofNanos(System.nanoTime() - start));
                 log.info("Successfully obtained Amadeus token (expires in {} seconds)", tokenResponse.expires_in);
-                return cachedToken;
+                return new Token(tokenResponse.access_token, Instant.now().plusSeconds(tokenResponse.expires_in));
             } else {
                 throw new RuntimeException("Failed to get Amadeus token: " + response.getStatusCode());
             }
         } catch (Exception e) {
+            refreshFailure.record(Duration.ofNanos(System.nanoTime() - start));
             log.error("Failed to fetch Amadeus token: {}", e.getMessage());
             throw new RuntimeException("Amadeus authentication failed", e);
         }
     }
 
-    /**
-     * Force refresh the token (useful if we get a 401 during API call)
-     */
-    public synchronized void invalidateToken() {
-        log.info("Invalidating cached Amadeus token");
-        cachedToken = null;
-        tokenExpiry = null;
-    }
-
     private void ensureCredentialsPresent() {
         if (clientId == null || clientId.isBlank() || clientSecret == null || clientSecret.isBlank()) {
             throw new IllegalStateException(
@@ -107,6 +184,28 @@ public class AmadeusTokenService {
         }
     }
 
+    private static Token join(CompletableFuture<Token> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static Timer refreshTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("amadeus.token.refresh")
+                .description("Amadeus OAuth token fetches")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record Token(String value, Instant expiresAt) {
+
+        boolean validAt(Instant instant) {
+            return instant.isBefore(expiresAt);
+        }
+    }
+
     // DTO for token response (fields must match JSON keys)
     @SuppressWarnings("unused")
     private static class TokenResponse {
@@ -0,0 +1,98 @@
+package com.travel.tripcost.provider.amadeus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads a flight-offers response as a token stream and keeps only what goes
+ * into a {@link FlightPriceSummary}. Segments, dictionaries and everything else
+ * are skipped without being materialised, so the cost per call no longer grows
+ * with the size of each offer.
+ */
+final class FlightOfferStreamReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private FlightOfferStreamReader() {
+    }
+
+    static FlightPriceSummary read(InputStream body) throws IOException {
+        FlightPriceSummary.Builder summary = new FlightPriceSummary.Builder();
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in the flight-offers response");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readOffer(parser, summary);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return summary.build();
+    }
+
+    private static void readOffer(JsonParser parser, FlightPriceSummary.Builder summary) throws IOException {
+        summary.offer();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("price".equals(field) && value == JsonToken.START_OBJECT) {
+                readPrice(parser, summary);
+            } else if ("itineraries".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readItinerary(parser, summary);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readPrice(JsonParser parser, FlightPriceSummary.Builder summary) throws IOException {
+        BigDecimal grandTotal = null;
+        String currency = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("grandTotal".equals(field)) {
+                grandTotal = decimal(parser, value);
+            } else if ("currency".equals(field) && value == JsonToken.VALUE_STRING) {
+                currency = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        summary.price(grandTotal, currency);
+    }
+
+    private static void readItinerary(JsonParser parser, FlightPriceSummary.Builder summary) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("duration".equals(field) && value == JsonToken.VALUE_STRING) {
+                summary.itineraryDuration(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static BigDecimal decimal(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_STRING -> new BigDecimal(parser.getText());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.travel.tripcost.provider.amadeus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * What the estimator needs from a flight-offers response: price bounds over the
+ * offers, their currency and the shortest itinerary. {@code min}, {@code max}
+ * and {@code currency} are null when no offer had a price, and
+ * {@code shortestItinerary} when none had a parseable duration.
+ */
+public record FlightPriceSummary(
+        int offers,
+        int pricedOffers,
+        BigDecimal min,
+        BigDecimal max,
+        String currency,
+        Duration shortestItinerary) {
+
+    /**
+     * Summarises an already bound response; used when full binding is switched
+     * on for debugging.
+     */
+    public static FlightPriceSummary of(FlightOfferResponse response) {
+        Builder builder = new Builder();
+        if (response != null && response.getData() != null) {
+            for (FlightOfferResponse.FlightOffer offer : response.getData()) {
+                builder.offer();
+                if (offer.getPrice() != null) {
+                    builder.price(offer.getPrice().getGrandTotal() == null ? null
+                            : new BigDecimal(offer.getPrice().getGrandTotal()), offer.getPrice().getCurrency());
+                }
+                if (offer.getItineraries() != null) {
+                    offer.getItineraries().forEach(itinerary -> builder.itineraryDuration(itinerary.getDuration()));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    static final class Builder {
+        private int offers;
+        private int pricedOffers;
+        private BigDecimal min;
+        private BigDecimal max;
+        private String currency;
+        private Duration shortestItinerary;
+
+        void offer() {
+            offers++;
+        }
+
+        void price(BigDecimal grandTotal, String offerCurrency) {
+            if (grandTotal == null) {
+                return;
+            }
+            pricedOffers++;
+            min = min == null || grandTotal.compareTo(min) < 0 ? grandTotal : min;
+            max = max == null || grandTotal.compareTo(max) > 0 ? grandTotal : max;
+            if (currency == null) {
+                currency = offerCurrency;
+            }
+        }
+
+        void itineraryDuration(String isoDuration) {
+            if (isoDuration == null) {
+                return;
+            }
+            try {
+                Duration duration = Duration.parse(isoDuration);
+                if (shortestItinerary == null || duration.compareTo(shortestItinerary) < 0) {
+                    shortestItinerary = duration;
+                }
+            } catch (DateTimeParseException e) {
+                // Amadeus sends ISO-8601 durations; ignore anything else
+            }
+        }
+
+        FlightPriceSummary build() {
+            return new FlightPriceSummary(offers, pricedOffers, min, max, currency, shortestItinerary);
+        }
+    }
+}
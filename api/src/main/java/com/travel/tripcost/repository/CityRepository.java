@@ -1,12 +1,38 @@
 package com.travel.tripcost.repository;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.travel.tripcost.domain.City;
+import com.travel.tripcost.dto.CitySearchResult;
+import com.travel.tripcost.repository.projection.CityRow;
 
 public interface CityRepository extends JpaRepository<City, String> {
 
-    List<City> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    /**
+     * Cities whose name starts with {@code prefix}, ignoring case, selected with
+     * their cost-data flag in one query instead of loading each entity's eager
+     * cost index. {@code prefix} must have its LIKE wildcards escaped with a backslash.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.travel.tripcost.dto.CitySearchResult("
+            + "c.id, c.name, c.country, c.iataCode, case when ci.cityId is null then false else true end) "
+            + "from City c left join c.costIndex ci "
+            + "where lower(c.name) like concat(lower(:prefix), '%') escape '\\' order by c.name")
+    List<CitySearchResult> searchByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("select new com.travel.tripcost.repository.projection.CityRow("
+            + "c.id, c.name, c.country, c.iataCode, c.latitude, c.longitude, c.updatedAt) from City c")
+    List<CityRow> findAllRows();
+
+    @Query("select new com.travel.tripcost.repository.projection.CityRow("
+            + "c.id, c.name, c.country, c.iataCode, c.latitude, c.longitude, c.updatedAt) "
+            + "from City c where c.updatedAt > :since")
+    List<CityRow> findRowsUpdatedAfter(@Param("since") Instant since);
 }
@@ -1,10 +1,26 @@
 package com.travel.tripcost.repository;
 
+import java.time.Instant;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.repository.projection.CostIndexRow;
 
 @Repository
 public interface CostIndexRepository extends JpaRepository<CostIndex, String> {
+
+    @Query("select new com.travel.tripcost.repository.projection.CostIndexRow("
+            + "ci.cityId, ci.accommodationLow, ci.accommodationMid, ci.foodDaily, ci.localTransitDaily, "
+            + "ci.updatedAt) from CostIndex ci")
+    List<CostIndexRow> findAllRows();
+
+    @Query("select new com.travel.tripcost.repository.projection.CostIndexRow("
+            + "ci.cityId, ci.accommodationLow, ci.accommodationMid, ci.foodDaily, ci.localTransitDaily, "
+            + "ci.updatedAt) from CostIndex ci where ci.updatedAt > :since")
+    List<CostIndexRow> findRowsUpdatedAfter(@Param("since") Instant since);
 }
@@ -0,0 +1,17 @@
+package com.travel.tripcost.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Flat read of a cities row, selected without hydrating the entity (and its
+ * eager cost index).
+ */
+public record CityRow(
+        String id,
+        String name,
+        String country,
+        String iataCode,
+        Double latitude,
+        Double longitude,
+        Instant updatedAt) {
+}
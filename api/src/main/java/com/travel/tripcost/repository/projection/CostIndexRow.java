@@ -0,0 +1,16 @@
+package com.travel.tripcost.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat read of a cost_indices row.
+ */
+public record CostIndexRow(
+        String cityId,
+        BigDecimal accommodationLow,
+        BigDecimal accommodationMid,
+        BigDecimal foodDaily,
+        BigDecimal localTransitDaily,
+        Instant updatedAt) {
+}
@@ -1,45 +1,51 @@
 package com.travel.tripcost.service;
 
-import java.math.BigDecimal;
 import org.springframework.stereotype.Service;
-import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripResponse.CostRange;
 import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.service.reference.CityCosts;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class AccommodationEstimator {
 
+    // Global fallback: $50 low, $100 mid
+    private static final CityCosts FALLBACK_COSTS = new CityCosts(null, 5000, 10000, CityCosts.MISSING,
+            CityCosts.MISSING);
+
     private final CostIndexRepository costIndexRepository;
 
     public CostRange estimate(String destCityId, int nights, String preference) {
         // Fetch costs or use Fallback defaults if global data is missing
-        CostIndex costs = costIndexRepository.findById(java.util.Objects.requireNonNull(destCityId))
-                .orElse(getFallbackCosts());
-
-        BigDecimal dailyRate = preference.equals("CHEAP")
-                ? costs.getAccommodationLow()
-                : costs.getAccommodationMid();
+        CityCosts costs = costIndexRepository.findById(java.util.Objects.requireNonNull(destCityId))
+                .map(CityCosts::from)
+                .orElse(null);
+        return estimate(costs, nights, preference);
+    }
 
-        BigDecimal total = dailyRate.multiply(BigDecimal.valueOf(nights));
+    /**
+     * Estimates from already loaded costs; null costs (or a missing rate) use the
+     * fallback defaults.
+     */
+    public CostRange estimate(CityCosts destCosts, int nights, String preference) {
+        boolean cheap = preference.equals("CHEAP");
+        long rate = destCosts == null ? CityCosts.MISSING
+                : cheap ? destCosts.accommodationLow() : destCosts.accommodationMid();
+        boolean fallback = rate == CityCosts.MISSING;
+        if (fallback) {
+            rate = cheap ? FALLBACK_COSTS.accommodationLow() : FALLBACK_COSTS.accommodationMid();
+        }
+
+        Money total = Money.ofCents(rate).times(nights);
 
         // Apply buffer: 0.8x for budget, 1.3x for splurge
-        BigDecimal minTotal = total.multiply(new BigDecimal("0.8"));
-        BigDecimal maxTotal = total.multiply(new BigDecimal("1.3"));
-
         CostRange range = new CostRange();
-        range.setMin(minTotal.setScale(2, java.math.RoundingMode.HALF_UP));
-        range.setMax(maxTotal.setScale(2, java.math.RoundingMode.HALF_UP));
-        range.setConfidence(costs.getCityId() == null ? "LOW" : "HIGH");
+        range.setMin(total.times(8, 10));
+        range.setMax(total.times(13, 10));
+        range.setConfidence(fallback ? "LOW" : "HIGH");
 
         return range;
     }
-
-    private CostIndex getFallbackCosts() {
-        CostIndex fallback = new CostIndex();
-        fallback.setAccommodationLow(BigDecimal.valueOf(50));
-        fallback.setAccommodationMid(BigDecimal.valueOf(100));
-        return fallback;
-    }
 }
@@ -0,0 +1,147 @@
+package com.travel.tripcost.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.geo.GeoMath;
+import com.travel.tripcost.service.geo.KdTree;
+import com.travel.tripcost.service.geo.UnitVectors;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.reference.CityCosts;
+import com.travel.tripcost.service.reference.CityRef;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Suggests nearby destinations that are cheaper to stay in. Candidates are the
+ * nearest cities with cost data, found through a k-d tree over the reference
+ * snapshot; each is priced for accommodation and food with the same estimators
+ * as the destination. Transport is left out of the saving, as pricing it would
+ * need a flight quote per candidate.
+ */
+@Slf4j
+@Service
+public class AlternativesEngine {
+
+    private final ReferenceDataRegistry referenceData;
+    private final AccommodationEstimator accommodationEstimator;
+    private final FoodEstimator foodEstimator;
+
+    @Value("${alternatives.candidates:20}")
+    private int candidates = 20;
+
+    @Value("${alternatives.max-radius-km:300}")
+    private double maxRadiusKm = 300;
+
+    @Value("${alternatives.limit:3}")
+    private int limit = 3;
+
+    private volatile Index index;
+
+    public AlternativesEngine(ReferenceDataRegistry referenceData, AccommodationEstimator accommodationEstimator,
+            FoodEstimator foodEstimator) {
+        this.referenceData = referenceData;
+        this.accommodationEstimator = accommodationEstimator;
+        this.foodEstimator = foodEstimator;
+    }
+
+    @PostConstruct
+    void buildOnStartup() {
+        rebuild(referenceData.current());
+    }
+
+    @EventListener
+    public void onReferenceDataRefreshed(ReferenceDataRefreshedEvent event) {
+        rebuild(event.snapshot());
+    }
+
+    public List<TripResponse.Alternative> find(TripContext context) {
+        Index current = index;
+        CityRef dest = context.destination();
+        if (current.tree.size() == 0 || Double.isNaN(dest.latitude()) || Double.isNaN(dest.longitude())) {
+            return List.of();
+        }
+
+        int destIndex = current.snapshot.indexOf(dest.id());
+        // Without the destination's own prices any saving would be measured against fallback rates
+        if (context.destinationCosts() == null || destIndex < 0 || !current.snapshot.hasCosts(destIndex)) {
+            return List.of();
+        }
+        int originIndex = current.snapshot.indexOf(context.origin().id());
+        int[] nearby = current.tree.nearest(dest.x(), dest.y(), dest.z(), candidates, GeoMath.kmToChord(maxRadiusKm),
+                city -> city != destIndex && city != originIndex);
+        if (nearby.length == 0) {
+            return List.of();
+        }
+
+        Money destCost = stayCost(context.destinationCosts(), context);
+        List<TripResponse.Alternative> cheaper = new ArrayList<>();
+        for (int city : nearby) {
+            Money saving = destCost.minus(stayCost(current.snapshot.costs(city), context));
+            if (saving.signum() > 0) {
+                TripResponse.Alternative alternative = new TripResponse.Alternative();
+                alternative.setCityId(current.snapshot.id(city));
+                alternative.setCityName(current.snapshot.name(city));
+                alternative.setEstimatedSaving(saving);
+                cheaper.add(alternative);
+            }
+        }
+        cheaper.sort(Comparator.comparing(TripResponse.Alternative::getEstimatedSaving).reversed());
+        return cheaper.size() > limit ? List.copyOf(cheaper.subList(0, limit)) : cheaper;
+    }
+
+    // Midpoint of the accommodation + food ranges for the trip's stay
+    private Money stayCost(CityCosts costs, TripContext context) {
+        CostRange accommodation = accommodationEstimator.estimate(costs, context.nights(),
+                context.request().getPreference());
+        CostRange food = foodEstimator.estimate(costs, context.days(), context.request().getTravellers());
+        return accommodation.getMin().plus(accommodation.getMax()).plus(food.getMin()).plus(food.getMax())
+                .times(1, 2);
+    }
+
+    private void rebuild(ReferenceSnapshot snapshot) {
+        int count = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (isCandidate(snapshot, i)) {
+                count++;
+            }
+        }
+        int[] ids = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] zs = new double[count];
+        UnitVectors vectors = snapshot.vectors();
+        int n = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (isCandidate(snapshot, i)) {
+                ids[n] = i;
+                xs[n] = vectors.x(i);
+                ys[n] = vectors.y(i);
+                zs[n] = vectors.z(i);
+                n++;
+            }
+        }
+        index = new Index(snapshot, KdTree.of(ids, xs, ys, zs));
+        log.info("Alternatives index built over {} cities with cost data", count);
+    }
+
+    private static boolean isCandidate(ReferenceSnapshot snapshot, int city) {
+        return snapshot.hasCosts(city) && !Double.isNaN(snapshot.latitude(city))
+                && !Double.isNaN(snapshot.longitude(city));
+    }
+
+    private record Index(ReferenceSnapshot snapshot, KdTree tree) {
+    }
+}
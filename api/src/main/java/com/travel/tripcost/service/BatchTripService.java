@@ -0,0 +1,176 @@
+package com.travel.tripcost.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.dto.BatchTripResponse;
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.dto.TripResponse;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.exception.ValidationException;
+import com.travel.tripcost.provider.FlightQuoteKey;
+import com.travel.tripcost.service.pipeline.CostPipeline;
+import com.travel.tripcost.service.pipeline.TransportComponent;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.pipeline.TripContextLoader;
+import com.travel.tripcost.service.traffic.TrafficTracker;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estimates many trips in one call. Cities come from the shared reference data
+ * snapshot, identical flight quotes are requested once, and the remaining
+ * quotes run with bounded concurrency. Failures are reported per item.
+ */
+@Slf4j
+@Service
+public class BatchTripService {
+
+    private final TripContextLoader contextLoader;
+    private final CostPipeline costPipeline;
+    private final TransportComponent transportComponent;
+    private final TripService tripService;
+    private final AlternativesEngine alternativesEngine;
+    private final TrafficTracker trafficTracker;
+    private final Validator validator;
+    private final ExecutorService executor;
+
+    @Value("${trips.batch.max-items:50}")
+    private int maxItems;
+
+    @Value("${trips.batch.quote-concurrency:8}")
+    private int quoteConcurrency;
+
+    public BatchTripService(TripContextLoader contextLoader, CostPipeline costPipeline,
+            TransportComponent transportComponent, TripService tripService, AlternativesEngine alternativesEngine,
+            TrafficTracker trafficTracker, Validator validator,
+            @Qualifier("estimationExecutor") ExecutorService executor) {
+        this.contextLoader = contextLoader;
+        this.costPipeline = costPipeline;
+        this.transportComponent = transportComponent;
+        this.tripService = tripService;
+        this.alternativesEngine = alternativesEngine;
+        this.trafficTracker = trafficTracker;
+        this.validator = validator;
+        this.executor = executor;
+    }
+
+    public BatchTripResponse estimateTrips(List<TripRequest> requests) {
+        if (requests.size() > maxItems) {
+            throw new ValidationException("A batch may contain at most " + maxItems + " trip requests");
+        }
+
+        int size = requests.size();
+        String[] errors = new String[size];
+        TripContext[] contexts = new TripContext[size];
+
+        // 1. Validate each item on its own and resolve its cities from reference data
+        for (int i = 0; i < size; i++) {
+            errors[i] = validate(requests.get(i));
+            if (errors[i] == null) {
+                trafficTracker.recordEstimate(requests.get(i));
+                try {
+                    contexts[i] = contextLoader.load(requests.get(i));
+                } catch (IllegalArgumentException ex) {
+                    errors[i] = ex.getMessage();
+                }
+            }
+        }
+
+        // 2. One transport estimate per distinct quote key, at most quoteConcurrency in flight
+        Semaphore permits = new Semaphore(quoteConcurrency);
+        Map<FlightQuoteKey, CompletableFuture<CostRange>> quotes = new HashMap<>();
+        for (TripContext context : contexts) {
+            if (context != null) {
+                quotes.computeIfAbsent(transportComponent.quoteKey(context),
+                        key -> CompletableFuture.supplyAsync(() -> quote(context, permits), executor));
+            }
+        }
+        log.debug("Batch of {} trips needs {} distinct flight quotes", size, quotes.size());
+
+        // 3. Remaining components per item, sharing the transport estimate
+        List<CompletableFuture<TripResponse>> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TripContext context = contexts[i];
+            if (context == null) {
+                responses.add(null);
+                continue;
+            }
+            Map<String, CompletableFuture<CostRange>> shared = Map.of(TransportComponent.NAME,
+                    quotes.get(transportComponent.quoteKey(context)));
+            responses.add(CompletableFuture.supplyAsync(
+                    () -> tripService.buildResponse(costPipeline.run(context, shared),
+                            alternativesEngine.find(context)),
+                    executor));
+        }
+
+        List<BatchTripResponse.Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BatchTripResponse.Item item = new BatchTripResponse.Item();
+            item.setIndex(i);
+            if (errors[i] != null) {
+                item.setError(errors[i]);
+            } else {
+                try {
+                    item.setResult(responses.get(i).join());
+                } catch (CompletionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.warn("Batch item {} failed: {}", i, cause.getMessage());
+                    item.setError(cause.getMessage());
+                }
+            }
+            items.add(item);
+        }
+
+        BatchTripResponse response = new BatchTripResponse();
+        response.setResults(items);
+        return response;
+    }
+
+    private CostRange quote(TripContext context, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a flight quote slot", e);
+        }
+        try {
+            return transportComponent.estimate(context);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private String validate(TripRequest request) {
+        if (request == null) {
+            return "Trip request is required";
+        }
+        Set<ConstraintViolation<TripRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            InputValidator.validate(request);
+        } catch (ValidationException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+}
@@ -2,6 +2,15 @@ package com.travel.tripcost.service;
 
 import org.springframework.stereotype.Service;
 
+import com.travel.tripcost.service.geo.GeoMath;
+import com.travel.tripcost.service.geo.UnitVectors;
+import com.travel.tripcost.service.reference.CityRef;
+
+/**
+ * Great-circle distances. Snapshot cities carry a precomputed unit vector, so
+ * their distances take one square root and one arcsine; raw coordinates go
+ * through the haversine formula.
+ */
 @Service
 public class DistanceService {
     public double calculateDistanceKm(double lat1, double lon1, double lat2, double lon2) {
@@ -15,4 +24,23 @@ public class DistanceService {
         return R * c; // Distance in kilometers
     }
 
+    public double distanceKm(CityRef from, CityRef to) {
+        return GeoMath.distanceKm(from.x(), from.y(), from.z(), to.x(), to.y(), to.z());
+    }
+
+    /**
+     * Distance from {@code from} to every city in {@code cities}, written into
+     * {@code out} by index.
+     */
+    public void distancesKm(CityRef from, UnitVectors cities, double[] out) {
+        cities.distancesKm(from.x(), from.y(), from.z(), out);
+    }
+
+    /**
+     * Indexes of the cities in {@code cities} within {@code maxKm} of
+     * {@code from}, including {@code from} itself.
+     */
+    public int[] citiesWithinKm(CityRef from, UnitVectors cities, double maxKm) {
+        return cities.withinKm(from.x(), from.y(), from.z(), maxKm);
+    }
 }
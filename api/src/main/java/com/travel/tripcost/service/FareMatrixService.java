@@ -0,0 +1,204 @@
+package com.travel.tripcost.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.FareMatrixResponse;
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.exception.ValidationException;
+import com.travel.tripcost.provider.FlightQuoteCache;
+import com.travel.tripcost.provider.FlightQuoteKey;
+import com.travel.tripcost.service.pipeline.CostPipeline;
+import com.travel.tripcost.service.pipeline.TransportComponent;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.pipeline.TripContextLoader;
+import com.travel.tripcost.service.traffic.TrafficTracker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices a route for every departure and return date within
+ * {@code flexDays} of the requested ones. Accommodation, food and local
+ * transit depend only on the stay length, so they are estimated once per
+ * length. Transport is quoted per date pair: cells with a fresh cached quote
+ * are answered straight away, and the rest are searched with at most
+ * {@code trips.fare-matrix.quote-concurrency} in flight. The Amadeus rate
+ * governor paces those searches like any other; ones it cannot fit in fall
+ * back to a stale or estimated quote.
+ */
+@Slf4j
+@Service
+public class FareMatrixService {
+
+    private final TripContextLoader contextLoader;
+    private final CostPipeline costPipeline;
+    private final TransportComponent transportComponent;
+    private final FlightQuoteCache quoteCache;
+    private final TrafficTracker trafficTracker;
+    private final ExecutorService executor;
+
+    @Value("${trips.fare-matrix.max-flex-days:3}")
+    private int maxFlexDays = 3;
+
+    @Value("${trips.fare-matrix.quote-concurrency:4}")
+    private int quoteConcurrency = 4;
+
+    public FareMatrixService(TripContextLoader contextLoader, CostPipeline costPipeline,
+            TransportComponent transportComponent, FlightQuoteCache quoteCache, TrafficTracker trafficTracker,
+            @Qualifier("estimationExecutor") ExecutorService executor) {
+        this.contextLoader = contextLoader;
+        this.costPipeline = costPipeline;
+        this.transportComponent = transportComponent;
+        this.quoteCache = quoteCache;
+        this.trafficTracker = trafficTracker;
+        this.executor = executor;
+    }
+
+    public FareMatrixResponse fareMatrix(TripRequest request, int flexDays) {
+        if (flexDays < 0 || flexDays > maxFlexDays) {
+            throw new ValidationException("Flexible days must be between 0 and " + maxFlexDays);
+        }
+        trafficTracker.recordEstimate(request);
+
+        // 1. Cities, destination costs and distance are the same for every cell
+        TripContext base = contextLoader.load(request);
+        LocalDate today = LocalDate.now();
+        List<LocalDate> departures = window(request.getStartDate(), flexDays, today);
+        List<LocalDate> returns = window(request.getEndDate(), flexDays, today);
+
+        // 2. Transport per date pair: cached quotes now, missing ones bounded by permits
+        Semaphore permits = new Semaphore(quoteConcurrency);
+        List<FareMatrixResponse.Cell> cells = new ArrayList<>();
+        List<CompletableFuture<CostRange>> transports = new ArrayList<>();
+        Map<Integer, TripContext> stays = new TreeMap<>();
+        int searches = 0;
+        for (LocalDate departure : departures) {
+            for (LocalDate ret : returns) {
+                if (ret.isBefore(departure)) {
+                    continue;
+                }
+                TripContext context = withDates(base, departure, ret);
+                FareMatrixResponse.Cell cell = new FareMatrixResponse.Cell();
+                cell.setDepartureDate(departure);
+                cell.setReturnDate(ret);
+                cell.setNights(context.nights());
+                cells.add(cell);
+                stays.putIfAbsent(context.nights(), context);
+
+                if (needsSearch(transportComponent.quoteKey(context))) {
+                    searches++;
+                    transports.add(CompletableFuture.supplyAsync(() -> quote(context, permits), executor));
+                } else {
+                    transports.add(CompletableFuture.supplyAsync(() -> transportComponent.estimate(context),
+                            executor));
+                }
+            }
+        }
+        log.debug("Fare matrix of {} cells needs {} flight searches and {} stay estimates", cells.size(), searches,
+                stays.size());
+
+        // 3. The rest of the trip, once per stay length
+        Map<Integer, Map<String, CostRange>> stayCosts = new TreeMap<>();
+        stays.forEach((nights, context) -> stayCosts.put(nights,
+                costPipeline.runExcept(context, Set.of(TransportComponent.NAME))));
+
+        for (int i = 0; i < cells.size(); i++) {
+            FareMatrixResponse.Cell cell = cells.get(i);
+            try {
+                CostRange transport = transports.get(i).join();
+                cell.setTransport(transport);
+                cell.setTotal(total(transport, stayCosts.get(cell.getNights())));
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Fare matrix cell {} to {} failed: {}", cell.getDepartureDate(), cell.getReturnDate(),
+                        cause.getMessage());
+                cell.setError(cause.getMessage());
+            }
+        }
+
+        FareMatrixResponse response = new FareMatrixResponse();
+        response.setDepartureDates(departures);
+        response.setReturnDates(returns);
+        response.setCells(cells);
+        response.setCheapest(cells.stream()
+                .filter(cell -> cell.getTotal() != null)
+                .min(Comparator.comparing((FareMatrixResponse.Cell cell) -> cell.getTotal().getMin()))
+                .orElse(null));
+        return response;
+    }
+
+    // Live quotes without a fresh cached copy cost an Amadeus search
+    private boolean needsSearch(FlightQuoteKey key) {
+        return key.live() && quoteCache.isDueForRefresh(key, Duration.ZERO);
+    }
+
+    private CostRange quote(TripContext context, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a flight quote slot", e);
+        }
+        try {
+            return transportComponent.estimate(context);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static CostRange total(CostRange transport, Map<String, CostRange> stay) {
+        Money min = transport.getMin();
+        Money max = transport.getMax();
+        for (CostRange cost : stay.values()) {
+            min = min.plus(cost.getMin());
+            max = max.plus(cost.getMax());
+        }
+        CostRange total = new CostRange();
+        total.setMin(min);
+        total.setMax(max);
+        total.setConfidence("MEDIUM");
+        total.setStale(transport.isStale());
+        return total;
+    }
+
+    private static List<LocalDate> window(LocalDate center, int flexDays, LocalDate today) {
+        List<LocalDate> dates = new ArrayList<>(2 * flexDays + 1);
+        for (int offset = -flexDays; offset <= flexDays; offset++) {
+            LocalDate date = center.plusDays(offset);
+            if (!date.isBefore(today)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    private static TripContext withDates(TripContext base, LocalDate departure, LocalDate ret) {
+        TripRequest request = new TripRequest();
+        request.setOriginCityId(base.request().getOriginCityId());
+        request.setDestinationCityId(base.request().getDestinationCityId());
+        request.setStartDate(departure);
+        request.setEndDate(ret);
+        request.setTravellers(base.request().getTravellers());
+        request.setPreference(base.request().getPreference());
+        int nights = (int) ChronoUnit.DAYS.between(departure, ret);
+        return new TripContext(request, base.origin(), base.destination(), base.destinationCosts(), nights,
+                nights + 1, base.distanceKm());
+    }
+}
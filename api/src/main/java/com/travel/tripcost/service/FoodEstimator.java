@@ -1,42 +1,43 @@
 package com.travel.tripcost.service;
 
-import java.math.BigDecimal;
 import org.springframework.stereotype.Service;
-import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripResponse.CostRange;
 import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.service.reference.CityCosts;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class FoodEstimator {
 
+    private static final long FALLBACK_FOOD_DAILY = 4000; // Global fallback $40
+
     private final CostIndexRepository costIndexRepository;
 
     public CostRange estimate(String destCityId, int days, int travellers) {
-        CostIndex costs = costIndexRepository.findById(java.util.Objects.requireNonNull(destCityId))
-                .orElse(getFallbackCosts());
+        CityCosts costs = costIndexRepository.findById(java.util.Objects.requireNonNull(destCityId))
+                .map(CityCosts::from)
+                .orElse(null);
+        return estimate(costs, days, travellers);
+    }
 
-        BigDecimal dailyFood = costs.getFoodDaily();
+    /**
+     * Estimates from already loaded costs; null costs (or a missing rate) use the
+     * fallback defaults.
+     */
+    public CostRange estimate(CityCosts destCosts, int days, int travellers) {
+        long rate = destCosts == null ? CityCosts.MISSING : destCosts.foodDaily();
+        boolean fallback = rate == CityCosts.MISSING;
 
-        BigDecimal total = dailyFood.multiply(BigDecimal.valueOf(days))
-                .multiply(BigDecimal.valueOf(travellers));
+        Money total = Money.ofCents(fallback ? FALLBACK_FOOD_DAILY : rate).times((long) days * travellers);
 
         // Apply buffer: 0.8x for budget, 1.3x for splurge
-        BigDecimal minTotal = total.multiply(new BigDecimal("0.8"));
-        BigDecimal maxTotal = total.multiply(new BigDecimal("1.3"));
-
         CostRange range = new CostRange();
-        range.setMin(minTotal.setScale(2, java.math.RoundingMode.HALF_UP));
-        range.setMax(maxTotal.setScale(2, java.math.RoundingMode.HALF_UP));
-        range.setConfidence(costs.getCityId() == null ? "LOW" : "HIGH");
+        range.setMin(total.times(8, 10));
+        range.setMax(total.times(13, 10));
+        range.setConfidence(fallback ? "LOW" : "HIGH");
 
         return range;
     }
-
-    private CostIndex getFallbackCosts() {
-        CostIndex fallback = new CostIndex();
-        fallback.setFoodDaily(BigDecimal.valueOf(40)); // Global fallback $40
-        return fallback;
-    }
 }
@@ -0,0 +1,101 @@
+package com.travel.tripcost.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the ground side of {@link TransportEstimator}, bound from
+ * {@code ground-transport.*}. A trip shorter than the {@code fly-above-km} of
+ * its preference goes by rail, bus or car when a mode covers the distance;
+ * longer trips are quoted as flights. Fares come from the first region listing
+ * the country of both cities, or from the last region (the default) otherwise.
+ *
+ * @param roadFactor       how much longer the route is than the straight line
+ * @param timeValuePerHour what an hour of travel is worth per traveller when a
+ *                         BALANCED trip weighs fare against speed
+ * @param flyAboveKm       straight-line distance above which flying is
+ *                         plausible, per preference
+ */
+@ConfigurationProperties("ground-transport")
+public record GroundTransportProperties(
+        @DefaultValue("1.3") double roadFactor,
+        @DefaultValue("15") double timeValuePerHour,
+        Map<String, Double> flyAboveKm,
+        List<Region> regions) {
+
+    private static final double DEFAULT_FLY_ABOVE_KM = 400;
+
+    public GroundTransportProperties {
+        flyAboveKm = flyAboveKm == null || flyAboveKm.isEmpty()
+                ? Map.of("CHEAP", 600.0, "BALANCED", DEFAULT_FLY_ABOVE_KM, "FAST", 250.0)
+                : flyAboveKm.entrySet().stream().collect(Collectors.toUnmodifiableMap(
+                        entry -> entry.getKey().toUpperCase(Locale.ROOT), Map.Entry::getValue));
+        regions = regions == null || regions.isEmpty()
+                ? List.of(new Region("default", List.of(), defaultModes()))
+                : regions;
+    }
+
+    /**
+     * Ground fares for the cities of {@code countries}. {@code modes} leaves out
+     * any mode that does not run in the region.
+     */
+    public record Region(String name, List<String> countries, Map<Mode, Fare> modes) {
+
+        public Region {
+            countries = countries == null ? List.of()
+                    : countries.stream().map(country -> country.toLowerCase(Locale.ROOT)).toList();
+            modes = modes == null || modes.isEmpty() ? Map.of() : new EnumMap<>(modes);
+        }
+
+        boolean covers(String country) {
+            return country != null && countries.contains(country.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public enum Mode {
+        RAIL, BUS, CAR
+    }
+
+    /**
+     * One-way fare of {@code baseFare + perKm * routeKm}, per traveller or, when
+     * {@code seats} is set, per vehicle of that many seats.
+     *
+     * @param maxKm longest route the mode is considered for
+     */
+    public record Fare(double baseFare, double perKm, double speedKmh, double maxKm, int seats) {
+    }
+
+    public double flyAboveKm(String preference) {
+        return flyAboveKm.getOrDefault(preference == null ? "BALANCED" : preference.toUpperCase(Locale.ROOT),
+                DEFAULT_FLY_ABOVE_KM);
+    }
+
+    public Region regionFor(String originCountry, String destinationCountry) {
+        for (Region region : regions) {
+            if (region.covers(originCountry) && region.covers(destinationCountry)) {
+                return region;
+            }
+        }
+        return defaultRegion();
+    }
+
+    /**
+     * The last region, used for cities no other region lists.
+     */
+    public Region defaultRegion() {
+        return regions.get(regions.size() - 1);
+    }
+
+    private static Map<Mode, Fare> defaultModes() {
+        return Map.of(
+                Mode.RAIL, new Fare(10, 0.12, 120, 1200, 0),
+                Mode.BUS, new Fare(5, 0.07, 70, 1000, 0),
+                Mode.CAR, new Fare(0, 0.25, 90, 900, 4));
+    }
+}
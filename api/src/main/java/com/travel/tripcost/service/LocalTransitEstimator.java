@@ -0,0 +1,27 @@
+package com.travel.tripcost.service;
+
+import org.springframework.stereotype.Service;
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.reference.CityCosts;
+
+@Service
+public class LocalTransitEstimator {
+
+    private static final long FALLBACK_TRANSIT_DAILY = 1000; // Global fallback $10
+
+    public CostRange estimate(CityCosts destCosts, int days, int travellers) {
+        long rate = destCosts == null ? CityCosts.MISSING : destCosts.localTransitDaily();
+        boolean fallback = rate == CityCosts.MISSING;
+
+        Money total = Money.ofCents(fallback ? FALLBACK_TRANSIT_DAILY : rate).times((long) days * travellers);
+
+        // Apply buffer: 0.8x for budget, 1.3x for splurge
+        CostRange range = new CostRange();
+        range.setMin(total.times(8, 10));
+        range.setMax(total.times(13, 10));
+        range.setConfidence(fallback ? "LOW" : "HIGH");
+
+        return range;
+    }
+}
@@ -0,0 +1,116 @@
+package com.travel.tripcost.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.service.geo.GeoMath;
+import com.travel.tripcost.service.geo.KdTree;
+import com.travel.tripcost.service.geo.UnitVectors;
+import com.travel.tripcost.service.reference.CityRef;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps a city to the airport a traveller would fly from. Cities with an IATA
+ * code are their own airport; others get the nearest IATA-bearing city within
+ * {@code airports.max-radius-km}, looked up in a k-d tree over the reference
+ * snapshot.
+ */
+@Slf4j
+@Service
+public class NearestAirportResolver {
+
+    /**
+     * Airport serving a city, and the straight-line distance to reach it (zero
+     * when the city is the airport).
+     */
+    public record Airport(CityRef city, double groundKm) {
+
+        public boolean needsGroundLeg() {
+            return groundKm > 0;
+        }
+    }
+
+    private final ReferenceDataRegistry referenceData;
+
+    @Value("${airports.max-radius-km:250}")
+    private double maxRadiusKm = 250;
+
+    private volatile Index index;
+
+    public NearestAirportResolver(ReferenceDataRegistry referenceData) {
+        this.referenceData = referenceData;
+    }
+
+    @PostConstruct
+    void buildOnStartup() {
+        rebuild(referenceData.current());
+    }
+
+    @EventListener
+    public void onReferenceDataRefreshed(ReferenceDataRefreshedEvent event) {
+        rebuild(event.snapshot());
+    }
+
+    public Optional<Airport> resolve(CityRef city) {
+        if (city.hasIataCode()) {
+            return Optional.of(new Airport(city, 0));
+        }
+        Index current = index;
+        if (current.tree.size() == 0 || Double.isNaN(city.latitude()) || Double.isNaN(city.longitude())) {
+            return Optional.empty();
+        }
+
+        int[] nearest = current.tree.nearest(city.x(), city.y(), city.z(), 1, GeoMath.kmToChord(maxRadiusKm),
+                airport -> true);
+        if (nearest.length == 0) {
+            return Optional.empty();
+        }
+
+        CityRef airport = current.snapshot.city(nearest[0]);
+        return Optional.of(new Airport(airport,
+                GeoMath.distanceKm(city.x(), city.y(), city.z(), airport.x(), airport.y(), airport.z())));
+    }
+
+    private void rebuild(ReferenceSnapshot snapshot) {
+        int count = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (isAirport(snapshot, i)) {
+                count++;
+            }
+        }
+        int[] ids = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] zs = new double[count];
+        UnitVectors vectors = snapshot.vectors();
+        int n = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (isAirport(snapshot, i)) {
+                ids[n] = i;
+                xs[n] = vectors.x(i);
+                ys[n] = vectors.y(i);
+                zs[n] = vectors.z(i);
+                n++;
+            }
+        }
+        index = new Index(snapshot, KdTree.of(ids, xs, ys, zs));
+        log.info("Airport index built over {} IATA cities", count);
+    }
+
+    private static boolean isAirport(ReferenceSnapshot snapshot, int city) {
+        String iata = snapshot.iataCode(city);
+        return iata != null && !iata.isBlank() && !Double.isNaN(snapshot.latitude(city))
+                && !Double.isNaN(snapshot.longitude(city));
+    }
+
+    private record Index(ReferenceSnapshot snapshot, KdTree tree) {
+    }
+}
@@ -1,37 +1,140 @@
 package com.travel.tripcost.service;
 
+import java.util.Map;
+import java.util.Optional;
+
 import org.springframework.stereotype.Service;
 
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.GroundTransportProperties.Fare;
+import com.travel.tripcost.service.GroundTransportProperties.Mode;
+import com.travel.tripcost.service.GroundTransportProperties.Region;
+import com.travel.tripcost.service.reference.CityRef;
+
+/**
+ * Decides whether a trip is flown or travelled overland and prices the overland
+ * ones, and the ground legs to and from airports, from the regional fares in
+ * {@link GroundTransportProperties}.
+ */
 @Service
 public class TransportEstimator {
-    public double[] costRange(double distanceKM, int travellers, String preference) {
-        double minCost;
-        double maxCost;
-        double multiplier;
+
+    /**
+     * The ground mode chosen for a trip and its round-trip cost.
+     */
+    public record GroundRoute(Mode mode, CostRange cost) {
+    }
+
+    private final GroundTransportProperties properties;
+
+    public TransportEstimator(GroundTransportProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Whether a trip this long is worth a flight search for the preference.
+     */
+    public boolean flyingPlausible(double distanceKm, String preference) {
+        return distanceKm > properties.flyAboveKm(preference);
+    }
+
+    /**
+     * Prices the trip by the ground mode that best fits the preference: the
+     * cheapest fare for CHEAP, the quickest for FAST, and the lowest fare plus
+     * time cost for BALANCED. Empty when no mode in the region covers the route.
+     */
+    public Optional<GroundRoute> groundRoute(CityRef origin, CityRef destination, double distanceKm,
+            int travellers, String preference) {
+        return bestMode(properties.regionFor(origin.country(), destination.country()),
+                distanceKm * properties.roadFactor(), travellers, preference, true);
+    }
+
+    /**
+     * Prices a round-trip ground leg that has to be travelled however long it
+     * is: between two cities sharing an airport, or between a city and the
+     * airport serving it. Modes that cover the route are preferred; otherwise
+     * the route's length is not held against any mode. A region running no
+     * modes uses the default region's fares.
+     */
+    public CostRange groundTransfer(CityRef from, CityRef to, double distanceKm, int travellers,
+            String preference) {
+        Region matched = properties.regionFor(from.country(), to.country());
+        Region region = matched.modes().isEmpty() ? properties.defaultRegion() : matched;
+        double routeKm = distanceKm * properties.roadFactor();
+        return bestMode(region, routeKm, travellers, preference, true)
+                .or(() -> bestMode(region, routeKm, travellers, preference, false))
+                .map(GroundRoute::cost)
+                .orElseThrow(() -> new IllegalStateException(
+                        "No ground transport modes configured for region " + region.name()));
+    }
+
+    private Optional<GroundRoute> bestMode(Region region, double routeKm, int travellers, String preference,
+            boolean withinMaxKm) {
+        String pref = preference == null ? "BALANCED" : preference.toUpperCase();
+
+        Mode bestMode = null;
+        double bestFare = 0;
+        double bestScore = Double.MAX_VALUE;
+        for (Map.Entry<Mode, Fare> entry : region.modes().entrySet()) {
+            Fare fare = entry.getValue();
+            if (withinMaxKm && routeKm > fare.maxKm()) {
+                continue;
+            }
+            double payers = fare.seats() > 0 ? Math.ceil((double) travellers / fare.seats()) : travellers;
+            double oneWay = payers * (fare.baseFare() + fare.perKm() * routeKm);
+            double hours = routeKm / fare.speedKmh();
+            double score = switch (pref) {
+                case "CHEAP" -> oneWay;
+                case "FAST" -> hours;
+                default -> oneWay + hours * properties.timeValuePerHour() * travellers;
+            };
+            if (score < bestScore) {
+                bestMode = entry.getKey();
+                bestFare = oneWay;
+                bestScore = score;
+            }
+        }
+        if (bestMode == null) {
+            return Optional.empty();
+        }
+
+        Money total = Money.ofMajor(bestFare * 2);
+        CostRange range = new CostRange();
+        range.setMin(total.times(8, 10));
+        range.setMax(total.times(13, 10));
+        range.setConfidence("MEDIUM");
+        return Optional.of(new GroundRoute(bestMode, range));
+    }
+
+    public CostRange costRange(double distanceKM, int travellers, String preference) {
+        long minCents;
+        long maxCents;
+        long multiplierPercent;
 
         if (preference.equals("CHEAP")) {
-            multiplier = 0.8;
+            multiplierPercent = 80;
         } else if (preference.equals("BALANCED")) {
-            multiplier = 1;
+            multiplierPercent = 100;
         } else {
-            multiplier = 1.5;
+            multiplierPercent = 150;
         }
 
         if (distanceKM < 500) {
-            minCost = 50;
-            maxCost = 100;
+            minCents = 5000;
+            maxCents = 10000;
         } else if (distanceKM <= 2000) {
-            minCost = 100;
-            maxCost = 250;
+            minCents = 10000;
+            maxCents = 25000;
         } else {
-            minCost = 250;
-            maxCost = 600;
+            minCents = 25000;
+            maxCents = 60000;
         }
 
-        minCost = minCost * multiplier * travellers;
-        maxCost = maxCost * multiplier * travellers;
-
-        return new double[] { minCost, maxCost };
+        CostRange range = new CostRange();
+        range.setMin(Money.ofCents(minCents).times(multiplierPercent * travellers, 100));
+        range.setMax(Money.ofCents(maxCents).times(multiplierPercent * travellers, 100));
+        range.setConfidence("LOW"); // Distance bands only
+        return range;
     }
-
 }
@@ -1,130 +1,105 @@
 package com.travel.tripcost.service;
 
-import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import com.travel.tripcost.domain.City;
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripRequest;
 import com.travel.tripcost.dto.TripResponse;
 import com.travel.tripcost.dto.TripResponse.CostRange;
-import com.travel.tripcost.provider.FlightProvider;
-import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.service.pipeline.AccommodationComponent;
+import com.travel.tripcost.service.pipeline.CostPipeline;
+import com.travel.tripcost.service.pipeline.FoodComponent;
+import com.travel.tripcost.service.pipeline.LocalTransitComponent;
+import com.travel.tripcost.service.pipeline.StageTimers;
+import com.travel.tripcost.service.pipeline.TransportComponent;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.pipeline.TripContextLoader;
+import com.travel.tripcost.service.traffic.TrafficTracker;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TripService {
 
-        private final CityRepository cityRepository;
-        private final DistanceService distanceService;
+        private final TripContextLoader contextLoader;
+        private final CostPipeline costPipeline;
+        private final AlternativesEngine alternativesEngine;
+        private final ExecutorService executor;
+        private final TrafficTracker trafficTracker;
+        private final StageTimers stageTimers;
+
+        public TripService(TripContextLoader contextLoader, CostPipeline costPipeline,
+                        AlternativesEngine alternativesEngine,
+                        @Qualifier("estimationExecutor") ExecutorService executor,
+                        TrafficTracker trafficTracker, StageTimers stageTimers) {
+                this.contextLoader = contextLoader;
+                this.costPipeline = costPipeline;
+                this.alternativesEngine = alternativesEngine;
+                this.executor = executor;
+                this.trafficTracker = trafficTracker;
+                this.stageTimers = stageTimers;
+        }
 
-        @Qualifier("realFlightProvider")
-        private final FlightProvider flightProvider;
+        public TripResponse estimateTrip(TripRequest request) {
+                trafficTracker.recordEstimate(request);
 
-        @Qualifier("mockFlightProvider")
-        private final FlightProvider mockFlightProvider;
+                // 1. Fetch cities and destination costs once for all components
+                TripContext context = contextLoader.load(request);
 
-        private final AccommodationEstimator accommodationEstimator;
-        private final FoodEstimator foodEstimator;
+                // 2. Look for cheaper nearby destinations while the components run
+                CompletableFuture<List<TripResponse.Alternative>> alternatives = CompletableFuture
+                                .supplyAsync(() -> stageTimers.time(StageTimers.ALTERNATIVES,
+                                                () -> alternativesEngine.find(context)), executor);
 
-        public TripResponse estimateTrip(TripRequest request) {
+                // 3. Run transport, accommodation, food and local transit concurrently
+                Map<String, CostRange> costs = costPipeline.run(context);
 
-                // 1. Fetch Cities
-                City origin = cityRepository.findById(java.util.Objects.requireNonNull(request.getOriginCityId()))
-                                .orElseThrow(() -> new IllegalArgumentException("Invalid Origin City ID"));
-                City dest = cityRepository.findById(java.util.Objects.requireNonNull(request.getDestinationCityId()))
-                                .orElseThrow(() -> new IllegalArgumentException("Invalid Destination City ID"));
-
-                int nights = (int) ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
-                int days = nights + 1;
-
-                // 2. Core Calculations
-                double distanceKm = distanceService.calculateDistanceKm(
-                                origin.getLatitude(), origin.getLongitude(),
-                                dest.getLatitude(), dest.getLongitude());
-
-                // 3. Get Estimates
-                // Transport (using FlightProvider with Circuit Breaker)
-                // IATA codes are populated from external database (worker/seed_cities.py)
-                // If IATA codes are missing, fall back to MockFlightProvider
-
-                boolean hasIataCodes = hasIataCode(origin) && hasIataCode(dest);
-                CostRange transportCost;
-
-                if (hasIataCodes) {
-                        // Use real Amadeus API with IATA codes
-                        String originIata = origin.getIataCode();
-                        String destIata = dest.getIataCode();
-
-                        transportCost = flightProvider.getFlightQuote(
-                                        originIata,
-                                        destIata,
-                                        request.getStartDate().toString(),
-                                        request.getEndDate().toString(),
-                                        request.getTravellers(),
-                                        request.getPreference(),
-                                        distanceKm);
-                } else {
-                        // Fallback to mock provider for cities without IATA codes
-                        log.warn("Missing IATA codes - Origin: {} ({}), Dest: {} ({}). Using fallback estimator.",
-                                        origin.getName(), origin.getIataCode(),
-                                        dest.getName(), dest.getIataCode());
-
-                        transportCost = mockFlightProvider.getFlightQuote(
-                                        origin.getId().toString(), // Mock provider uses city IDs, not IATA
-                                        dest.getId().toString(),
-                                        request.getStartDate().toString(),
-                                        request.getEndDate().toString(),
-                                        request.getTravellers(),
-                                        request.getPreference(),
-                                        distanceKm);
-                }
-
-                // Accommodation
-                CostRange accommodationCost = accommodationEstimator.estimate(dest.getId(), nights,
-                                request.getPreference());
+                // 4. Build Response
+                List<TripResponse.Alternative> cheaper = alternatives.join();
+                return stageTimers.time(StageTimers.ASSEMBLY, () -> buildResponse(costs, cheaper));
+        }
 
-                // Food
-                CostRange foodCost = foodEstimator.estimate(dest.getId(), days, request.getTravellers());
+        TripResponse buildResponse(Map<String, CostRange> costs, List<TripResponse.Alternative> alternatives) {
+                CostRange transportCost = costs.get(TransportComponent.NAME);
 
-                // 4. Calculate Total
-                BigDecimal totalMin = transportCost.getMin().add(accommodationCost.getMin()).add(foodCost.getMin());
-                BigDecimal totalMax = transportCost.getMax().add(accommodationCost.getMax()).add(foodCost.getMax());
+                // Calculate Total
+                Money totalMin = Money.ZERO;
+                Money totalMax = Money.ZERO;
+                for (CostRange cost : costs.values()) {
+                        totalMin = totalMin.plus(cost.getMin());
+                        totalMax = totalMax.plus(cost.getMax());
+                }
 
                 CostRange totalCost = new CostRange();
                 totalCost.setMin(totalMin);
                 totalCost.setMax(totalMax);
                 totalCost.setConfidence("MEDIUM");
 
-                // 5. Build Response
                 TripResponse response = new TripResponse();
 
                 TripResponse.Breakdown breakdown = new TripResponse.Breakdown();
                 breakdown.setTransport(transportCost);
-                breakdown.setAccommodation(accommodationCost);
-                breakdown.setFood(foodCost);
+                breakdown.setAccommodation(costs.get(AccommodationComponent.NAME));
+                breakdown.setFood(costs.get(FoodComponent.NAME));
+                breakdown.setLocalTransit(costs.get(LocalTransitComponent.NAME));
                 breakdown.setTotal(totalCost);
                 response.setBreakdown(breakdown);
 
                 TripResponse.Metadata metadata = new TripResponse.Metadata();
-                metadata.setDataSource("HIGH".equalsIgnoreCase(transportCost.getConfidence()) ? "Amadeus Live"
-                                : "Fallback Engine");
+                metadata.setDataSource(transportCost.isLive() ? "Amadeus Live" : "Fallback Engine");
                 metadata.setGeneratedAt(java.time.Instant.now().toString());
+                metadata.setStale(transportCost.isStale());
                 response.setMetadata(metadata);
 
-                response.setAlternatives(List.of());
+                response.setAlternatives(alternatives);
 
                 return response;
         }
-
-        private boolean hasIataCode(City city) {
-                return city.getIataCode() != null && !city.getIataCode().isBlank();
-        }
 }
@@ -0,0 +1,156 @@
+package com.travel.tripcost.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.dto.TripResponse;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.pipeline.CostPipeline;
+import com.travel.tripcost.service.pipeline.StageTimers;
+import com.travel.tripcost.service.pipeline.TransportComponent;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.pipeline.TripContextLoader;
+import com.travel.tripcost.service.traffic.TrafficTracker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a trip estimate as Server-Sent Events, so the first costs reach the
+ * client without waiting for the flight quote. Events, each carrying JSON:
+ * <ul>
+ * <li>{@code accommodation}, {@code food}, {@code localTransit}: a
+ * {@link CostRange} each, as soon as it is computed</li>
+ * <li>{@code provisionalTransport}: a distance-band {@link CostRange}, sent
+ * first when the quote is not ready yet</li>
+ * <li>{@code transport}, then {@code total}: the quoted {@link CostRange} and
+ * the trip total</li>
+ * <li>{@code alternatives}: the cheaper nearby destinations</li>
+ * <li>{@code metadata}: the {@link TripResponse.Metadata}, always last</li>
+ * </ul>
+ * A failure after the stream has started is sent as an {@code error} event
+ * with the message, and the stream ends.
+ */
+@Slf4j
+@Service
+public class TripStreamService {
+
+    private final TripContextLoader contextLoader;
+    private final CostPipeline costPipeline;
+    private final TransportComponent transportComponent;
+    private final TransportEstimator transportEstimator;
+    private final AlternativesEngine alternativesEngine;
+    private final TripService tripService;
+    private final TrafficTracker trafficTracker;
+    private final StageTimers stageTimers;
+    private final ExecutorService executor;
+
+    @Value("${trips.stream.timeout:PT30S}")
+    private Duration timeout = Duration.ofSeconds(30);
+
+    public TripStreamService(TripContextLoader contextLoader, CostPipeline costPipeline,
+            TransportComponent transportComponent, TransportEstimator transportEstimator,
+            AlternativesEngine alternativesEngine, TripService tripService, TrafficTracker trafficTracker,
+            StageTimers stageTimers, @Qualifier("estimationExecutor") ExecutorService executor) {
+        this.contextLoader = contextLoader;
+        this.costPipeline = costPipeline;
+        this.transportComponent = transportComponent;
+        this.transportEstimator = transportEstimator;
+        this.alternativesEngine = alternativesEngine;
+        this.tripService = tripService;
+        this.trafficTracker = trafficTracker;
+        this.stageTimers = stageTimers;
+        this.executor = executor;
+    }
+
+    public SseEmitter streamEstimate(TripRequest request) {
+        trafficTracker.recordEstimate(request);
+
+        // Unknown cities fail here, before the stream starts, like the plain endpoint
+        TripContext context = contextLoader.load(request);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+
+        CompletableFuture<CostRange> transport = CompletableFuture.supplyAsync(
+                () -> stageTimers.time(TransportComponent.NAME, () -> transportComponent.estimate(context)),
+                executor);
+        CompletableFuture<List<TripResponse.Alternative>> alternatives = CompletableFuture.supplyAsync(
+                () -> stageTimers.time(StageTimers.ALTERNATIVES, () -> alternativesEngine.find(context)), executor);
+        Map<String, CompletableFuture<CostRange>> stay = costPipeline.startExcept(context,
+                Set.of(TransportComponent.NAME));
+
+        // Sent before the quote's own event can be, so it never overwrites the real one
+        if (!transport.isDone()) {
+            send(emitter, "provisionalTransport", transportEstimator.costRange(context.distanceKm(),
+                    request.getTravellers(), request.getPreference()));
+        }
+
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        stay.forEach((name, cost) -> pending.add(cost.thenAccept(range -> send(emitter, name, range))));
+        pending.add(transport.thenAccept(range -> send(emitter, TransportComponent.NAME, range)));
+        pending.add(alternatives);
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                fail(emitter, failure);
+                return;
+            }
+            try {
+                Map<String, CostRange> costs = new LinkedHashMap<>();
+                costs.put(TransportComponent.NAME, transport.join());
+                stay.forEach((name, cost) -> costs.put(name, cost.join()));
+                TripResponse response = stageTimers.time(StageTimers.ASSEMBLY,
+                        () -> tripService.buildResponse(costs, alternatives.join()));
+
+                send(emitter, "total", response.getBreakdown().getTotal());
+                send(emitter, "alternatives", response.getAlternatives());
+                send(emitter, "metadata", response.getMetadata());
+                emitter.complete();
+            } catch (RuntimeException ex) {
+                fail(emitter, ex);
+            }
+        });
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void fail(SseEmitter emitter, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof UncheckedIOException) {
+            // The client went away; there is nobody left to tell
+            log.debug("Estimate stream closed by client: {}", cause.getMessage());
+            emitter.completeWithError(cause);
+            return;
+        }
+        log.warn("Estimate stream failed: {}", cause.getMessage());
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("message", String.valueOf(cause.getMessage()))));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(cause);
+        }
+    }
+}
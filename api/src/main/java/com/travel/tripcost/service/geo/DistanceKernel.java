@@ -0,0 +1,36 @@
+package com.travel.tripcost.service.geo;
+
+/**
+ * One-to-many distance scan over {@link UnitVectors}. The Vector API kernel
+ * needs {@code --add-modules jdk.incubator.vector}; without it
+ * {@link #preferred()} is the scalar loop, which gives the same results.
+ */
+public interface DistanceKernel {
+
+    /**
+     * Writes the distance in km from the query vector to each city into
+     * {@code out}.
+     */
+    void distancesKm(UnitVectors cities, double qx, double qy, double qz, double[] out);
+
+    /**
+     * Writes the indexes of cities within {@code maxKm} of the query vector into
+     * {@code out}, in index order, and returns how many there are.
+     */
+    int within(UnitVectors cities, double qx, double qy, double qz, double maxKm, int[] out);
+
+    static DistanceKernel scalar() {
+        return ScalarDistanceKernel.INSTANCE;
+    }
+
+    static DistanceKernel preferred() {
+        return KernelSelection.PREFERRED;
+    }
+
+    /**
+     * Whether {@link #preferred()} is the Vector API kernel.
+     */
+    static boolean vectorized() {
+        return KernelSelection.PREFERRED != ScalarDistanceKernel.INSTANCE;
+    }
+}
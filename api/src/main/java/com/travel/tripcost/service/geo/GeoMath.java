@@ -0,0 +1,51 @@
+package com.travel.tripcost.service.geo;
+
+/**
+ * Conversions between lat/lon and points on the unit sphere. Nearest-neighbour
+ * searches work on straight-line (chord) distance between unit vectors, which
+ * orders points the same way as great-circle distance and has no antimeridian
+ * or pole edge cases.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private GeoMath() {
+    }
+
+    public static double x(double latDeg, double lonDeg) {
+        return Math.cos(Math.toRadians(latDeg)) * Math.cos(Math.toRadians(lonDeg));
+    }
+
+    public static double y(double latDeg, double lonDeg) {
+        return Math.cos(Math.toRadians(latDeg)) * Math.sin(Math.toRadians(lonDeg));
+    }
+
+    public static double z(double latDeg) {
+        return Math.sin(Math.toRadians(latDeg));
+    }
+
+    /**
+     * Great-circle distance in km between two unit vectors.
+     */
+    public static double distanceKm(double ax, double ay, double az, double bx, double by, double bz) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        double dz = az - bz;
+        return chordToKm(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    /**
+     * Great-circle distance in km for a chord length between unit vectors.
+     */
+    public static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    /**
+     * Chord length between unit vectors that are {@code km} apart on the surface.
+     */
+    public static double kmToChord(double km) {
+        return 2 * Math.sin(Math.min(Math.PI, km / EARTH_RADIUS_KM) / 2);
+    }
+}
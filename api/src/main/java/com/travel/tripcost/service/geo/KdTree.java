@@ -0,0 +1,205 @@
+package com.travel.tripcost.service.geo;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Static 3D k-d tree over points on the unit sphere, each carrying an int
+ * payload (a reference-data city index). The tree is implicit: points are
+ * reordered in place so the median of every range is the split node of that
+ * range, which keeps it to four primitive arrays and no node objects.
+ */
+public final class KdTree {
+
+    private final int[] ids;
+    private final double[][] coords; // [axis][point]
+
+    private KdTree(int[] ids, double[] xs, double[] ys, double[] zs) {
+        this.ids = ids;
+        this.coords = new double[][] { xs, ys, zs };
+        build(0, ids.length, 0);
+    }
+
+    /**
+     * Builds a tree from parallel arrays. The arrays are taken over and reordered.
+     */
+    public static KdTree of(int[] ids, double[] xs, double[] ys, double[] zs) {
+        return new KdTree(ids, xs, ys, zs);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Payloads of up to {@code k} points within {@code maxChord} of the query
+     * point that pass {@code accept}, nearest first.
+     */
+    public int[] nearest(double qx, double qy, double qz, int k, double maxChord, IntPredicate accept) {
+        if (k <= 0 || ids.length == 0) {
+            return new int[0];
+        }
+        Neighbours found = new Neighbours(k, maxChord * maxChord);
+        search(0, ids.length, 0, new double[] { qx, qy, qz }, accept, found);
+        return found.sortedIds();
+    }
+
+    private void search(int lo, int hi, int axis, double[] q, IntPredicate accept, Neighbours found) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double dx = coords[0][mid] - q[0];
+        double dy = coords[1][mid] - q[1];
+        double dz = coords[2][mid] - q[2];
+        double dist = dx * dx + dy * dy + dz * dz;
+        if (dist <= found.worst() && accept.test(ids[mid])) {
+            found.offer(ids[mid], dist);
+        }
+
+        double diff = q[axis] - coords[axis][mid];
+        int next = axis == 2 ? 0 : axis + 1;
+        if (diff < 0) {
+            search(lo, mid, next, q, accept, found);
+            if (diff * diff <= found.worst()) {
+                search(mid + 1, hi, next, q, accept, found);
+            }
+        } else {
+            search(mid + 1, hi, next, q, accept, found);
+            if (diff * diff <= found.worst()) {
+                search(lo, mid, next, q, accept, found);
+            }
+        }
+    }
+
+    private void build(int lo, int hi, int axis) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, coords[axis]);
+        int next = axis == 2 ? 0 : axis + 1;
+        build(lo, mid, next);
+        build(mid + 1, hi, next);
+    }
+
+    // Quickselect: afterwards values[k] is in sorted position for [left, right]
+    private void select(int left, int right, int k, double[] values) {
+        while (right > left) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        for (double[] axis : coords) {
+            double value = axis[a];
+            axis[a] = axis[b];
+            axis[b] = value;
+        }
+    }
+
+    /**
+     * Bounded max-heap of the k closest points seen so far.
+     */
+    private static final class Neighbours {
+        private final int[] ids;
+        private final double[] dists;
+        private final double limit;
+        private int size;
+
+        Neighbours(int k, double limit) {
+            this.ids = new int[k];
+            this.dists = new double[k];
+            this.limit = limit;
+        }
+
+        double worst() {
+            return size < ids.length ? limit : dists[0];
+        }
+
+        void offer(int id, double dist) {
+            if (size < ids.length) {
+                ids[size] = id;
+                dists[size] = dist;
+                siftUp(size++);
+            } else if (dist < dists[0]) {
+                ids[0] = id;
+                dists[0] = dist;
+                siftDown(0);
+            }
+        }
+
+        int[] sortedIds() {
+            int[] sorted = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = ids[0];
+                ids[0] = ids[i];
+                dists[0] = dists[i];
+                size = i;
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (dists[parent] >= dists[i]) {
+                    return;
+                }
+                exchange(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && dists[left] > dists[largest]) {
+                    largest = left;
+                }
+                if (right < size && dists[right] > dists[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                exchange(i, largest);
+                i = largest;
+            }
+        }
+
+        private void exchange(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double dist = dists[a];
+            dists[a] = dists[b];
+            dists[b] = dist;
+        }
+    }
+}
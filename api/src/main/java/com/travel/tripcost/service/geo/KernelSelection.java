@@ -0,0 +1,27 @@
+package com.travel.tripcost.service.geo;
+
+/**
+ * Picks the {@link DistanceKernel} once per JVM. {@link VectorDistanceKernel}
+ * is only touched when the incubator module is in the boot layer, since
+ * loading it otherwise fails with a NoClassDefFoundError.
+ */
+final class KernelSelection {
+
+    static final DistanceKernel PREFERRED = select();
+
+    private KernelSelection() {
+    }
+
+    private static DistanceKernel select() {
+        if (Boolean.getBoolean("geo.scalar-kernel")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarDistanceKernel.INSTANCE;
+        }
+        try {
+            // A single lane would only add overhead over the scalar loop
+            return VectorDistanceKernel.lanes() > 1 ? VectorDistanceKernel.INSTANCE : ScalarDistanceKernel.INSTANCE;
+        } catch (LinkageError e) {
+            return ScalarDistanceKernel.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.travel.tripcost.service.geo;
+
+final class ScalarDistanceKernel implements DistanceKernel {
+
+    static final ScalarDistanceKernel INSTANCE = new ScalarDistanceKernel();
+
+    private ScalarDistanceKernel() {
+    }
+
+    @Override
+    public void distancesKm(UnitVectors cities, double qx, double qy, double qz, double[] out) {
+        double[] xs = cities.xs;
+        double[] ys = cities.ys;
+        double[] zs = cities.zs;
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = GeoMath.distanceKm(xs[i], ys[i], zs[i], qx, qy, qz);
+        }
+    }
+
+    @Override
+    public int within(UnitVectors cities, double qx, double qy, double qz, double maxKm, int[] out) {
+        double maxChord = GeoMath.kmToChord(maxKm);
+        double limit = maxChord * maxChord;
+        double[] xs = cities.xs;
+        double[] ys = cities.ys;
+        double[] zs = cities.zs;
+        int count = 0;
+        for (int i = 0; i < xs.length; i++) {
+            double dx = xs[i] - qx;
+            double dy = ys[i] - qy;
+            double dz = zs[i] - qz;
+            if (dx * dx + dy * dy + dz * dz <= limit) {
+                out[count++] = i;
+            }
+        }
+        return count;
+    }
+}
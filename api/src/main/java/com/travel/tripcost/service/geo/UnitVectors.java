@@ -0,0 +1,68 @@
+package com.travel.tripcost.service.geo;
+
+import java.util.Arrays;
+
+/**
+ * Cities as unit vectors in three parallel arrays, indexed like the reference
+ * snapshot they were built from. Cities without coordinates hold NaN, so they
+ * come out of every distance as NaN and are never within range.
+ */
+public final class UnitVectors {
+
+    final double[] xs;
+    final double[] ys;
+    final double[] zs;
+
+    private UnitVectors(double[] xs, double[] ys, double[] zs) {
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+    }
+
+    public static UnitVectors of(double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] zs = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = GeoMath.x(latitudes[i], longitudes[i]);
+            ys[i] = GeoMath.y(latitudes[i], longitudes[i]);
+            zs[i] = GeoMath.z(latitudes[i]);
+        }
+        return new UnitVectors(xs, ys, zs);
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double x(int index) {
+        return xs[index];
+    }
+
+    public double y(int index) {
+        return ys[index];
+    }
+
+    public double z(int index) {
+        return zs[index];
+    }
+
+    /**
+     * Writes the distance in km from the query vector to every city into
+     * {@code out}, which must hold at least {@link #size()} values.
+     */
+    public void distancesKm(double qx, double qy, double qz, double[] out) {
+        DistanceKernel.preferred().distancesKm(this, qx, qy, qz, out);
+    }
+
+    /**
+     * Indexes of the cities within {@code maxKm} of the query vector, in index
+     * order.
+     */
+    public int[] withinKm(double qx, double qy, double qz, double maxKm) {
+        int[] found = new int[size()];
+        int count = DistanceKernel.preferred().within(this, qx, qy, qz, maxKm, found);
+        return Arrays.copyOf(found, count);
+    }
+}
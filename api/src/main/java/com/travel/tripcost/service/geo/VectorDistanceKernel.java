@@ -0,0 +1,80 @@
+package com.travel.tripcost.service.geo;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DistanceKernel} on the widest double vectors the CPU has. Only loaded
+ * once {@link KernelSelection} has seen the incubator module; the tail that
+ * does not fill a vector goes through the scalar loop.
+ */
+final class VectorDistanceKernel implements DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    static final VectorDistanceKernel INSTANCE = new VectorDistanceKernel();
+
+    private VectorDistanceKernel() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void distancesKm(UnitVectors cities, double qx, double qy, double qz, double[] out) {
+        double[] xs = cities.xs;
+        double[] ys = cities.ys;
+        double[] zs = cities.zs;
+        int bound = SPECIES.loopBound(xs.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(qx);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(qy);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, zs, i).sub(qz);
+            // Same steps as GeoMath.chordToKm: 2R * asin(min(1, chord / 2))
+            dx.fma(dx, dy.fma(dy, dz.mul(dz)))
+                    .lanewise(VectorOperators.SQRT)
+                    .mul(0.5)
+                    .min(1.0)
+                    .lanewise(VectorOperators.ASIN)
+                    .mul(2 * GeoMath.EARTH_RADIUS_KM)
+                    .intoArray(out, i);
+        }
+        for (; i < xs.length; i++) {
+            out[i] = GeoMath.distanceKm(xs[i], ys[i], zs[i], qx, qy, qz);
+        }
+    }
+
+    @Override
+    public int within(UnitVectors cities, double qx, double qy, double qz, double maxKm, int[] out) {
+        double maxChord = GeoMath.kmToChord(maxKm);
+        double limit = maxChord * maxChord;
+        double[] xs = cities.xs;
+        double[] ys = cities.ys;
+        double[] zs = cities.zs;
+        int bound = SPECIES.loopBound(xs.length);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(qx);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(qy);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, zs, i).sub(qz);
+            VectorMask<Double> near = dx.fma(dx, dy.fma(dy, dz.mul(dz))).compare(VectorOperators.LE, limit);
+            for (long lanes = near.toLong(); lanes != 0; lanes &= lanes - 1) {
+                out[count++] = i + Long.numberOfTrailingZeros(lanes);
+            }
+        }
+        for (; i < xs.length; i++) {
+            double dx = xs[i] - qx;
+            double dy = ys[i] - qy;
+            double dz = zs[i] - qz;
+            if (dx * dx + dy * dy + dz * dz <= limit) {
+                out[count++] = i;
+            }
+        }
+        return count;
+    }
+}
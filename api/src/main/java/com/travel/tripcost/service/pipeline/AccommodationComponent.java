@@ -0,0 +1,37 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.AccommodationEstimator;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class AccommodationComponent implements CostComponent {
+
+    public static final String NAME = "accommodation";
+
+    private final AccommodationEstimator accommodationEstimator;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Set<TripInput> inputs() {
+        return Set.of(TripInput.DESTINATION_COSTS);
+    }
+
+    @Override
+    public CostRange estimate(TripContext context) {
+        return accommodationEstimator.estimate(context.destinationCosts(), context.nights(),
+                context.request().getPreference());
+    }
+}
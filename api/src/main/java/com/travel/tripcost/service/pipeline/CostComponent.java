@@ -0,0 +1,24 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Set;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+
+/**
+ * One line of the trip cost breakdown. Components are independent of each other
+ * and are run concurrently by the {@link CostPipeline}.
+ */
+public interface CostComponent {
+
+    /**
+     * Breakdown key this component fills in, e.g. "transport".
+     */
+    String name();
+
+    /**
+     * Context inputs this component reads.
+     */
+    Set<TripInput> inputs();
+
+    CostRange estimate(TripContext context);
+}
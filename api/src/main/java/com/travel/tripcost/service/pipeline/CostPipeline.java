@@ -0,0 +1,104 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+
+/**
+ * Runs every registered {@link CostComponent} concurrently against a shared
+ * {@link TripContext}. Latency is bounded by the slowest component (normally the
+ * flight quote) rather than the sum of all of them.
+ */
+@Service
+public class CostPipeline {
+
+    private final List<CostComponent> components;
+    private final ExecutorService executor;
+    private final StageTimers stageTimers;
+
+    public CostPipeline(List<CostComponent> components,
+            @Qualifier("estimationExecutor") ExecutorService executor, StageTimers stageTimers) {
+        this.components = components;
+        this.executor = executor;
+        this.stageTimers = stageTimers;
+    }
+
+    /**
+     * Returns each component's estimate keyed by {@link CostComponent#name()}.
+     */
+    public Map<String, CostRange> run(TripContext context) {
+        return run(context, Map.of());
+    }
+
+    /**
+     * Same as {@link #run(TripContext)}, but components named in
+     * {@code precomputed} are not run; their already scheduled result is used
+     * instead. Batch estimation uses this to share one flight quote between items.
+     */
+    public Map<String, CostRange> run(TripContext context,
+            Map<String, CompletableFuture<CostRange>> precomputed) {
+        Map<String, CompletableFuture<CostRange>> pending = new LinkedHashMap<>();
+        for (CostComponent component : components) {
+            CompletableFuture<CostRange> shared = precomputed.get(component.name());
+            pending.put(component.name(), shared != null
+                    ? shared
+                    : CompletableFuture.supplyAsync(
+                            () -> stageTimers.time(component.name(), () -> component.estimate(context)), executor));
+        }
+
+        Map<String, CostRange> results = new LinkedHashMap<>();
+        pending.forEach((name, future) -> results.put(name, join(future)));
+        return results;
+    }
+
+    /**
+     * Runs every component except those named in {@code skipped}. The fare
+     * matrix uses this to price a stay once for all the date pairs that share
+     * its length.
+     */
+    public Map<String, CostRange> runExcept(TripContext context, Set<String> skipped) {
+        Map<String, CostRange> results = new LinkedHashMap<>();
+        startExcept(context, skipped).forEach((name, future) -> results.put(name, join(future)));
+        return results;
+    }
+
+    /**
+     * Schedules every component except those named in {@code skipped} and
+     * returns their pending estimates without waiting, for callers that report
+     * each one as it completes.
+     */
+    public Map<String, CompletableFuture<CostRange>> startExcept(TripContext context, Set<String> skipped) {
+        Map<String, CompletableFuture<CostRange>> pending = new LinkedHashMap<>();
+        for (CostComponent component : components) {
+            if (!skipped.contains(component.name())) {
+                pending.put(component.name(), CompletableFuture.supplyAsync(
+                        () -> stageTimers.time(component.name(), () -> component.estimate(context)), executor));
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Waits for a future and rethrows the original exception instead of the
+     * CompletionException wrapper, so callers see the same errors as before.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.FoodEstimator;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class FoodComponent implements CostComponent {
+
+    public static final String NAME = "food";
+
+    private final FoodEstimator foodEstimator;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Set<TripInput> inputs() {
+        return Set.of(TripInput.DESTINATION_COSTS);
+    }
+
+    @Override
+    public CostRange estimate(TripContext context) {
+        return foodEstimator.estimate(context.destinationCosts(), context.days(),
+                context.request().getTravellers());
+    }
+}
@@ -0,0 +1,37 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.service.LocalTransitEstimator;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class LocalTransitComponent implements CostComponent {
+
+    public static final String NAME = "localTransit";
+
+    private final LocalTransitEstimator localTransitEstimator;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Set<TripInput> inputs() {
+        return Set.of(TripInput.DESTINATION_COSTS);
+    }
+
+    @Override
+    public CostRange estimate(TripContext context) {
+        return localTransitEstimator.estimate(context.destinationCosts(), context.days(),
+                context.request().getTravellers());
+    }
+}
@@ -0,0 +1,43 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the stages of a trip estimate, all under
+ * {@code trip.estimate.stage} and told apart by a {@code stage} tag. Cost
+ * components are timed under their {@link CostComponent#name()}, so the flight
+ * quote shows up as {@code transport}.
+ */
+@Component
+public class StageTimers {
+
+    public static final String CITY_LOAD = "city_load";
+    public static final String DISTANCE = "distance";
+    public static final String ALTERNATIVES = "alternatives";
+    public static final String ASSEMBLY = "assembly";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String stage, Supplier<T> work) {
+        return timer(stage).record(work);
+    }
+
+    private Timer timer(String stage) {
+        return timers.computeIfAbsent(stage, name -> Timer.builder("trip.estimate.stage")
+                .tag("stage", name)
+                .description("Time spent in one stage of a trip estimate")
+                .register(meterRegistry));
+    }
+}
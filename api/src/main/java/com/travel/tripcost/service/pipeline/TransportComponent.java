@@ -0,0 +1,180 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.provider.FlightProvider;
+import com.travel.tripcost.provider.FlightQuoteKey;
+import com.travel.tripcost.provider.RealFlightProvider;
+import com.travel.tripcost.service.DistanceService;
+import com.travel.tripcost.service.NearestAirportResolver;
+import com.travel.tripcost.service.NearestAirportResolver.Airport;
+import com.travel.tripcost.service.TransportEstimator;
+import com.travel.tripcost.service.TransportEstimator.GroundRoute;
+import com.travel.tripcost.service.reference.CityRef;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Order(1)
+public class TransportComponent implements CostComponent {
+
+    public static final String NAME = "transport";
+
+    private final FlightProvider flightProvider;
+    private final FlightProvider mockFlightProvider;
+    private final NearestAirportResolver airportResolver;
+    private final TransportEstimator transportEstimator;
+    private final DistanceService distanceService;
+    private final MeterRegistry meterRegistry;
+
+    public TransportComponent(@Qualifier("realFlightProvider") FlightProvider flightProvider,
+            @Qualifier("mockFlightProvider") FlightProvider mockFlightProvider,
+            NearestAirportResolver airportResolver, TransportEstimator transportEstimator,
+            DistanceService distanceService, MeterRegistry meterRegistry) {
+        this.flightProvider = flightProvider;
+        this.mockFlightProvider = mockFlightProvider;
+        this.airportResolver = airportResolver;
+        this.transportEstimator = transportEstimator;
+        this.distanceService = distanceService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Set<TripInput> inputs() {
+        return Set.of(TripInput.ORIGIN_CITY, TripInput.DESTINATION_CITY, TripInput.DISTANCE);
+    }
+
+    /**
+     * Key of the quote {@link #estimate} will request for this context. Contexts
+     * with equal keys produce the same transport estimate.
+     */
+    public FlightQuoteKey quoteKey(TripContext context) {
+        Optional<Airport> originAirport = airportResolver.resolve(context.origin());
+        Optional<Airport> destAirport = airportResolver.resolve(context.destination());
+        boolean live = originAirport.isPresent() && destAirport.isPresent() && overland(context).isEmpty();
+        // Ground legs depend on the city, so only direct airport cities share a key by IATA code
+        return new FlightQuoteKey(
+                live && !originAirport.get().needsGroundLeg() ? context.origin().iataCode() : context.origin().id(),
+                live && !destAirport.get().needsGroundLeg() ? context.destination().iataCode()
+                        : context.destination().id(),
+                context.request().getStartDate().toString(),
+                context.request().getEndDate().toString(),
+                context.request().getTravellers(),
+                context.request().getPreference(),
+                live);
+    }
+
+    @Override
+    public CostRange estimate(TripContext context) {
+        // IATA codes are populated from external database (worker/seed_cities.py)
+        // Cities without one fly from the nearest airport and add a ground transfer
+        CityRef origin = context.origin();
+        CityRef dest = context.destination();
+        Optional<Airport> originAirport = airportResolver.resolve(origin);
+        Optional<Airport> destAirport = airportResolver.resolve(dest);
+
+        Optional<GroundRoute> ground = overland(context);
+        if (ground.isPresent()) {
+            if (originAirport.isPresent() && destAirport.isPresent()
+                    && originAirport.get().city().index() != destAirport.get().city().index()) {
+                Counter.builder("flight.quotes.avoided")
+                        .description("Flight searches skipped because the trip is priced overland")
+                        .tag("mode", ground.get().mode().name().toLowerCase())
+                        .register(meterRegistry)
+                        .increment();
+            }
+            return ground.get().cost();
+        }
+
+        if (originAirport.isPresent() && destAirport.isPresent()) {
+            return airportToAirport(context, originAirport.get(), destAirport.get());
+        }
+
+        // Fallback to mock provider when no airport is within range
+        log.warn("No airport in range - Origin: {} ({}), Dest: {} ({}). Using fallback estimator.",
+                origin.name(), origin.iataCode(),
+                dest.name(), dest.iataCode());
+        RealFlightProvider.countFallback(meterRegistry, "missing_iata", "estimate");
+
+        return mockFlightProvider.getFlightQuote(
+                origin.id(), // Mock provider uses city IDs, not IATA
+                dest.id(),
+                context.request().getStartDate().toString(),
+                context.request().getEndDate().toString(),
+                context.request().getTravellers(),
+                context.request().getPreference(),
+                context.distanceKm());
+    }
+
+    /**
+     * The ground route for trips too short to fly, when the region has a mode
+     * that covers them.
+     */
+    private Optional<GroundRoute> overland(TripContext context) {
+        if (transportEstimator.flyingPlausible(context.distanceKm(), context.request().getPreference())) {
+            return Optional.empty();
+        }
+        return transportEstimator.groundRoute(context.origin(), context.destination(), context.distanceKm(),
+                context.request().getTravellers(), context.request().getPreference());
+    }
+
+    private CostRange airportToAirport(TripContext context, Airport origin, Airport dest) {
+        if (origin.city().index() == dest.city().index()) {
+            // Both cities share an airport, so the whole trip is overland
+            return transportEstimator.groundTransfer(context.origin(), context.destination(), context.distanceKm(),
+                    context.request().getTravellers(), context.request().getPreference());
+        }
+
+        boolean direct = !origin.needsGroundLeg() && !dest.needsGroundLeg();
+        double flightKm = direct
+                ? context.distanceKm()
+                : distanceService.distanceKm(origin.city(), dest.city());
+
+        // Use real Amadeus API with IATA codes
+        CostRange flight = flightProvider.getFlightQuote(
+                origin.city().iataCode(),
+                dest.city().iataCode(),
+                context.request().getStartDate().toString(),
+                context.request().getEndDate().toString(),
+                context.request().getTravellers(),
+                context.request().getPreference(),
+                flightKm);
+        if (direct) {
+            return flight;
+        }
+
+        CostRange total = new CostRange();
+        total.setMin(flight.getMin());
+        total.setMax(flight.getMax());
+        total.setStale(flight.isStale());
+        total.setLive(flight.isLive());
+        CityRef[] cities = { context.origin(), context.destination() };
+        Airport[] airports = { origin, dest };
+        for (int i = 0; i < airports.length; i++) {
+            if (airports[i].needsGroundLeg()) {
+                CostRange ground = transportEstimator.groundTransfer(cities[i], airports[i].city(),
+                        airports[i].groundKm(), context.request().getTravellers(),
+                        context.request().getPreference());
+                total.setMin(total.getMin().plus(ground.getMin()));
+                total.setMax(total.getMax().plus(ground.getMax()));
+            }
+        }
+        // The ground transfer is a formula, so a live fare no longer makes the total HIGH
+        total.setConfidence("HIGH".equals(flight.getConfidence()) ? "MEDIUM" : flight.getConfidence());
+        return total;
+    }
+}
@@ -0,0 +1,20 @@
+package com.travel.tripcost.service.pipeline;
+
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.service.reference.CityCosts;
+import com.travel.tripcost.service.reference.CityRef;
+
+/**
+ * Everything the cost components need for one estimate, fetched once and shared
+ * between them. {@code destinationCosts} is null when the destination has no
+ * cost index row.
+ */
+public record TripContext(
+        TripRequest request,
+        CityRef origin,
+        CityRef destination,
+        CityCosts destinationCosts,
+        int nights,
+        int days,
+        double distanceKm) {
+}
@@ -0,0 +1,72 @@
+package com.travel.tripcost.service.pipeline;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.service.DistanceService;
+import com.travel.tripcost.service.reference.CityCosts;
+import com.travel.tripcost.service.reference.CityRef;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+
+/**
+ * Resolves the inputs declared by the registered {@link CostComponent}s once per
+ * request from the in-memory reference data, so components never hit the
+ * database themselves.
+ */
+@Service
+public class TripContextLoader {
+
+    private final ReferenceDataRegistry referenceData;
+    private final DistanceService distanceService;
+    private final StageTimers stageTimers;
+    private final Set<TripInput> requiredInputs;
+
+    public TripContextLoader(ReferenceDataRegistry referenceData, DistanceService distanceService,
+            StageTimers stageTimers, List<CostComponent> components) {
+        this.referenceData = referenceData;
+        this.distanceService = distanceService;
+        this.stageTimers = stageTimers;
+        this.requiredInputs = EnumSet.noneOf(TripInput.class);
+        components.forEach(component -> requiredInputs.addAll(component.inputs()));
+    }
+
+    public TripContext load(TripRequest request) {
+        TripContext cities = stageTimers.time(StageTimers.CITY_LOAD, () -> loadCities(request));
+
+        double distanceKm = requiredInputs.contains(TripInput.DISTANCE)
+                ? stageTimers.time(StageTimers.DISTANCE, () -> distanceService.distanceKm(
+                        cities.origin(), cities.destination()))
+                : 0.0;
+
+        return new TripContext(request, cities.origin(), cities.destination(), cities.destinationCosts(),
+                cities.nights(), cities.days(), distanceKm);
+    }
+
+    private TripContext loadCities(TripRequest request) {
+        // Read both cities from the same snapshot even if a refresh swaps it meanwhile
+        ReferenceSnapshot snapshot = referenceData.current();
+
+        CityRef origin = snapshot.find(request.getOriginCityId());
+        if (origin == null) {
+            throw new IllegalArgumentException("Invalid Origin City ID");
+        }
+        CityRef dest = snapshot.find(request.getDestinationCityId());
+        if (dest == null) {
+            throw new IllegalArgumentException("Invalid Destination City ID");
+        }
+
+        int nights = (int) ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
+
+        CityCosts destCosts = requiredInputs.contains(TripInput.DESTINATION_COSTS)
+                ? snapshot.costs(dest.index())
+                : null;
+
+        return new TripContext(request, origin, dest, destCosts, nights, nights + 1, 0.0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.travel.tripcost.service.pipeline;
+
+/**
+ * Inputs a {@link CostComponent} can ask the {@link TripContextLoader} for.
+ * The loader only resolves inputs that at least one registered component needs.
+ */
+public enum TripInput {
+    ORIGIN_CITY,
+    DESTINATION_CITY,
+    DESTINATION_COSTS,
+    DISTANCE
+}
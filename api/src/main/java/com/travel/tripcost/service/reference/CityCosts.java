@@ -0,0 +1,33 @@
+package com.travel.tripcost.service.reference;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.travel.tripcost.domain.CostIndex;
+
+/**
+ * Daily cost figures for one city in cents. A column without data is
+ * {@link #MISSING}.
+ */
+public record CityCosts(
+        String cityId,
+        long accommodationLow,
+        long accommodationMid,
+        long foodDaily,
+        long localTransitDaily) {
+
+    public static final long MISSING = -1;
+
+    public static CityCosts from(CostIndex costIndex) {
+        return new CityCosts(
+                costIndex.getCityId(),
+                toCents(costIndex.getAccommodationLow()),
+                toCents(costIndex.getAccommodationMid()),
+                toCents(costIndex.getFoodDaily()),
+                toCents(costIndex.getLocalTransitDaily()));
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? MISSING : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,32 @@
+package com.travel.tripcost.service.reference;
+
+import com.travel.tripcost.service.geo.GeoMath;
+
+/**
+ * Read-only view of one city in a {@link ReferenceSnapshot}. {@code index} is the
+ * city's interned id, stable across incremental refreshes. {@code x}, {@code y}
+ * and {@code z} are the city's position as a unit vector, precomputed by the
+ * snapshot.
+ */
+public record CityRef(
+        int index,
+        String id,
+        String name,
+        String country,
+        String iataCode,
+        double latitude,
+        double longitude,
+        double x,
+        double y,
+        double z) {
+
+    public CityRef(int index, String id, String name, String country, String iataCode, double latitude,
+            double longitude) {
+        this(index, id, name, country, iataCode, latitude, longitude,
+                GeoMath.x(latitude, longitude), GeoMath.y(latitude, longitude), GeoMath.z(latitude));
+    }
+
+    public boolean hasIataCode() {
+        return iataCode != null && !iataCode.isBlank();
+    }
+}
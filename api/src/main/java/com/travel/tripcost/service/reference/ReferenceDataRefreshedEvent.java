@@ -0,0 +1,8 @@
+package com.travel.tripcost.service.reference;
+
+/**
+ * Published after {@link ReferenceDataRegistry} swaps in a new snapshot, so
+ * structures derived from it (search and spatial indexes) can rebuild.
+ */
+public record ReferenceDataRefreshedEvent(ReferenceSnapshot snapshot) {
+}
@@ -0,0 +1,136 @@
+package com.travel.tripcost.service.reference;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link ReferenceSnapshot} of cities and cost indices. The
+ * snapshot is loaded at startup and refreshed on a schedule from rows whose
+ * updated_at moved; readers never touch the database.
+ */
+@Slf4j
+@Component
+public class ReferenceDataRegistry {
+
+    private final CityRepository cityRepository;
+    private final CostIndexRepository costIndexRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile ReferenceSnapshot snapshot = ReferenceSnapshot.empty();
+
+    // Serializes loads; a lock rather than synchronized so a virtual thread doesn't
+    // pin its carrier for the length of the queries
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Re-read a little behind the watermark: updated_at is the writing transaction's
+    // start time, so rows from a long seeding run can commit "in the past".
+    @Value("${reference-data.refresh-lookback:PT10M}")
+    private Duration lookback = Duration.ofMinutes(10);
+
+    public ReferenceDataRegistry(CityRepository cityRepository, CostIndexRepository costIndexRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.cityRepository = cityRepository;
+        this.costIndexRepository = costIndexRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ReferenceSnapshot current() {
+        return snapshot;
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            // Keep serving with an empty snapshot; the scheduled refresh retries
+            log.error("Initial reference data load failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with a full read of both tables.
+     */
+    public void reload() {
+        loadLock.lock();
+        try {
+            ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+            cityRepository.findAllRows().forEach(builder::putCity);
+            costIndexRepository.findAllRows().forEach(builder::putCosts);
+            swap(builder.build(), "full");
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Applies rows changed since the last load. Falls back to a full reload when
+     * row counts show that something was deleted.
+     */
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval:PT5M}",
+            initialDelayString = "${reference-data.refresh-interval:PT5M}")
+    public void refresh() {
+        loadLock.lock();
+        try {
+            applyChanges();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void applyChanges() {
+        ReferenceSnapshot current = snapshot;
+        if (current.isEmpty()) {
+            reload();
+            return;
+        }
+
+        List<CityRow> cityRows = cityRepository.findRowsUpdatedAfter(since(current.citiesWatermark()));
+        List<CostIndexRow> costRows = costIndexRepository.findRowsUpdatedAfter(since(current.costsWatermark()));
+
+        ReferenceSnapshot.Builder builder = current.toBuilder();
+        boolean changed = false;
+        for (CityRow row : cityRows) {
+            changed |= builder.putCity(row);
+        }
+        for (CostIndexRow row : costRows) {
+            changed |= builder.putCosts(row);
+        }
+
+        if (builder.cityCount() != cityRepository.count() || builder.costCount() != costIndexRepository.count()) {
+            log.info("Reference data row counts changed, reloading snapshot");
+            reload();
+            return;
+        }
+        if (changed) {
+            swap(builder.build(), "incremental (" + cityRows.size() + " city rows, " + costRows.size()
+                    + " cost rows)");
+        }
+    }
+
+    private Instant since(Instant watermark) {
+        return watermark.equals(Instant.EPOCH) ? watermark : watermark.minus(lookback);
+    }
+
+    private void swap(ReferenceSnapshot next, String kind) {
+        snapshot = next;
+        log.info("Reference data {} load: {} cities, {} with cost data", kind, next.size(), next.costCount());
+        // Derived indexes build from current() when created and rebuild on this event
+        eventPublisher.publishEvent(new ReferenceDataRefreshedEvent(next));
+    }
+}
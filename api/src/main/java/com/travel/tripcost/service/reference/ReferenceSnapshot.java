@@ -0,0 +1,265 @@
+package com.travel.tripcost.service.reference;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+import com.travel.tripcost.service.geo.UnitVectors;
+
+/**
+ * Immutable, array-backed copy of the cities and cost_indices tables. City ids
+ * are interned to dense ints; coordinates and costs live in primitive arrays
+ * indexed by that int, so lookups allocate nothing beyond the returned view.
+ */
+public final class ReferenceSnapshot {
+
+    private static final ReferenceSnapshot EMPTY = builder().build();
+
+    private final Map<String, Integer> indexById;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] countries;
+    private final String[] iataCodes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final UnitVectors vectors;
+    // Cents, CityCosts.MISSING when the column is null
+    private final long[] accommodationLow;
+    private final long[] accommodationMid;
+    private final long[] foodDaily;
+    private final long[] localTransitDaily;
+    private final boolean[] hasCosts;
+    private final int costCount;
+    private final Instant citiesWatermark;
+    private final Instant costsWatermark;
+    private final Instant loadedAt;
+
+    private ReferenceSnapshot(Builder builder) {
+        int size = builder.cities.size();
+        this.indexById = new HashMap<>(size * 2);
+        this.ids = new String[size];
+        this.names = new String[size];
+        this.countries = new String[size];
+        this.iataCodes = new String[size];
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.accommodationLow = new long[size];
+        this.accommodationMid = new long[size];
+        this.foodDaily = new long[size];
+        this.localTransitDaily = new long[size];
+        this.hasCosts = new boolean[size];
+        Arrays.fill(accommodationLow, CityCosts.MISSING);
+        Arrays.fill(accommodationMid, CityCosts.MISSING);
+        Arrays.fill(foodDaily, CityCosts.MISSING);
+        Arrays.fill(localTransitDaily, CityCosts.MISSING);
+
+        int i = 0;
+        for (CityEntry city : builder.cities.values()) {
+            indexById.put(city.id(), i);
+            ids[i] = city.id();
+            names[i] = city.name();
+            countries[i] = city.country();
+            iataCodes[i] = city.iataCode();
+            latitudes[i] = city.latitude();
+            longitudes[i] = city.longitude();
+            i++;
+        }
+        this.vectors = UnitVectors.of(latitudes, longitudes);
+
+        int withCosts = 0;
+        for (CityCosts costs : builder.costs.values()) {
+            Integer index = indexById.get(costs.cityId());
+            if (index == null) {
+                continue;
+            }
+            accommodationLow[index] = costs.accommodationLow();
+            accommodationMid[index] = costs.accommodationMid();
+            foodDaily[index] = costs.foodDaily();
+            localTransitDaily[index] = costs.localTransitDaily();
+            hasCosts[index] = true;
+            withCosts++;
+        }
+        this.costCount = withCosts;
+        this.citiesWatermark = builder.citiesWatermark;
+        this.costsWatermark = builder.costsWatermark;
+        this.loadedAt = Instant.now();
+    }
+
+    public static ReferenceSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public int costCount() {
+        return costCount;
+    }
+
+    /**
+     * Interned index of a city id, or -1 if the id is unknown.
+     */
+    public int indexOf(String cityId) {
+        Integer index = cityId == null ? null : indexById.get(cityId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * The city with the given id, or null if it is unknown.
+     */
+    public CityRef find(String cityId) {
+        int index = indexOf(cityId);
+        return index < 0 ? null : city(index);
+    }
+
+    public CityRef city(int index) {
+        return new CityRef(index, ids[index], names[index], countries[index], iataCodes[index],
+                latitudes[index], longitudes[index], vectors.x(index), vectors.y(index), vectors.z(index));
+    }
+
+    /**
+     * Costs for the city at {@code index}, or null if it has no cost_indices row.
+     */
+    public CityCosts costs(int index) {
+        if (!hasCosts[index]) {
+            return null;
+        }
+        return new CityCosts(ids[index], accommodationLow[index], accommodationMid[index], foodDaily[index],
+                localTransitDaily[index]);
+    }
+
+    public boolean hasCosts(int index) {
+        return hasCosts[index];
+    }
+
+    public String id(int index) {
+        return ids[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public String country(int index) {
+        return countries[index];
+    }
+
+    public String iataCode(int index) {
+        return iataCodes[index];
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    /**
+     * Every city as a unit vector, indexed like the snapshot, for distance scans.
+     */
+    public UnitVectors vectors() {
+        return vectors;
+    }
+
+    public Instant citiesWatermark() {
+        return citiesWatermark;
+    }
+
+    public Instant costsWatermark() {
+        return costsWatermark;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder seeded with this snapshot's rows, for incremental updates. Existing
+     * cities keep their index; new ones are appended.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        for (int i = 0; i < ids.length; i++) {
+            builder.cities.put(ids[i], new CityEntry(ids[i], names[i], countries[i], iataCodes[i],
+                    latitudes[i], longitudes[i]));
+            if (hasCosts[i]) {
+                builder.costs.put(ids[i], costs(i));
+            }
+        }
+        builder.citiesWatermark = citiesWatermark;
+        builder.costsWatermark = costsWatermark;
+        return builder;
+    }
+
+    private record CityEntry(String id, String name, String country, String iataCode, double latitude,
+            double longitude) {
+    }
+
+    public static final class Builder {
+        private final Map<String, CityEntry> cities = new LinkedHashMap<>();
+        private final Map<String, CityCosts> costs = new HashMap<>();
+        private Instant citiesWatermark = Instant.EPOCH;
+        private Instant costsWatermark = Instant.EPOCH;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds or replaces a city. Returns true if the stored data changed.
+         */
+        public boolean putCity(CityRow row) {
+            citiesWatermark = latest(citiesWatermark, row.updatedAt());
+            CityEntry entry = new CityEntry(row.id(), row.name(), row.country(), row.iataCode(),
+                    row.latitude() == null ? Double.NaN : row.latitude(),
+                    row.longitude() == null ? Double.NaN : row.longitude());
+            return !entry.equals(cities.put(row.id(), entry));
+        }
+
+        /**
+         * Adds or replaces a city's costs. Returns true if the stored data changed.
+         */
+        public boolean putCosts(CostIndexRow row) {
+            costsWatermark = latest(costsWatermark, row.updatedAt());
+            CityCosts entry = new CityCosts(row.cityId(), cents(row.accommodationLow()),
+                    cents(row.accommodationMid()), cents(row.foodDaily()), cents(row.localTransitDaily()));
+            return !entry.equals(costs.put(row.cityId(), entry));
+        }
+
+        public int cityCount() {
+            return cities.size();
+        }
+
+        public int costCount() {
+            return costs.size();
+        }
+
+        public ReferenceSnapshot build() {
+            return new ReferenceSnapshot(this);
+        }
+
+        private static long cents(BigDecimal amount) {
+            return CityCosts.toCents(amount);
+        }
+
+        private static Instant latest(Instant current, Instant candidate) {
+            return candidate != null && candidate.isAfter(Objects.requireNonNull(current)) ? candidate : current;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.travel.tripcost.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travel.tripcost.dto.CitySearchResult;
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prefix index for city autocomplete. Every city contributes sorted
+ * keys for its folded full name, each later word of its name and its IATA
+ * code; a query is a binary search to the first key with the query as prefix
+ * followed by a short scan. Countries are kept apart, one key each listing
+ * their cities, and only fill results the names and codes left empty. Hot
+ * prefixes are served from a small cache
+ * that is dropped whenever the reference data changes. Until the first
+ * snapshot loads, queries go to the database as name-prefix searches instead.
+ */
+@Slf4j
+@Service
+public class CitySearchIndex {
+
+    private static final byte NAME = 0;
+    private static final byte NAME_WORD = 1;
+    private static final byte IATA = 2;
+
+    // Below the lowest name or code score (500, less 50 for a long name)
+    private static final int COUNTRY_SCORE = 300;
+
+    private final ReferenceDataRegistry referenceData;
+    private final CityRepository cityRepository;
+
+    @Value("${city-search.max-scan:5000}")
+    private int maxScan = 5000;
+
+    @Value("${city-search.cache-size:2048}")
+    private int cacheSize = 2048;
+
+    private volatile Index index;
+
+    public CitySearchIndex(ReferenceDataRegistry referenceData, CityRepository cityRepository) {
+        this.referenceData = referenceData;
+        this.cityRepository = cityRepository;
+    }
+
+    @PostConstruct
+    void buildOnStartup() {
+        rebuild(referenceData.current());
+    }
+
+    @EventListener
+    public void onReferenceDataRefreshed(ReferenceDataRefreshedEvent event) {
+        rebuild(event.snapshot());
+    }
+
+    /**
+     * Top {@code limit} cities whose name, name word, country or IATA code starts
+     * with the folded query, best match first.
+     */
+    public List<CitySearchResult> search(String query, int limit) {
+        String folded = TextFolding.fold(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        Index current = index;
+        if (current.snapshot.isEmpty()) {
+            // Not cached: the snapshot replaces these as soon as it loads
+            return cityRepository.searchByNamePrefix(escapeLike(query.trim()), PageRequest.of(0, limit));
+        }
+        return current.cache.get(folded + '|' + limit, key -> current.search(folded, limit, maxScan));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void rebuild(ReferenceSnapshot snapshot) {
+        long started = System.nanoTime();
+        Index next = Index.build(snapshot, Caffeine.newBuilder().maximumSize(cacheSize).build());
+        index = next;
+        log.info("City search index built: {} keys for {} cities in {} ms", next.keys.length, snapshot.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static final class Index {
+        private final ReferenceSnapshot snapshot;
+        private final String[] keys;
+        private final int[] cities;
+        private final byte[] kinds;
+        // One key per distinct country, so a big country is a single entry in the scan
+        private final String[] countries;
+        private final int[][] countryCities;
+        private final Cache<String, List<CitySearchResult>> cache;
+
+        private Index(ReferenceSnapshot snapshot, String[] keys, int[] cities, byte[] kinds, String[] countries,
+                int[][] countryCities, Cache<String, List<CitySearchResult>> cache) {
+            this.snapshot = snapshot;
+            this.keys = keys;
+            this.cities = cities;
+            this.kinds = kinds;
+            this.countries = countries;
+            this.countryCities = countryCities;
+            this.cache = cache;
+        }
+
+        static Index build(ReferenceSnapshot snapshot, Cache<String, List<CitySearchResult>> cache) {
+            List<Entry> entries = new ArrayList<>(snapshot.size() * 2);
+            Map<String, List<Integer>> byCountry = new TreeMap<>();
+            for (int i = 0; i < snapshot.size(); i++) {
+                String name = TextFolding.fold(snapshot.name(i));
+                if (!name.isEmpty()) {
+                    entries.add(new Entry(name, i, NAME));
+                    for (int space = name.indexOf(' '); space >= 0; space = name.indexOf(' ', space + 1)) {
+                        entries.add(new Entry(name.substring(space + 1), i, NAME_WORD));
+                    }
+                }
+                if (hasAirport(snapshot, i)) {
+                    entries.add(new Entry(TextFolding.fold(snapshot.iataCode(i)), i, IATA));
+                }
+                String country = snapshot.country(i);
+                if (country != null) {
+                    byCountry.computeIfAbsent(TextFolding.fold(country), key -> new ArrayList<>()).add(i);
+                }
+            }
+            entries.sort(Comparator.comparing(Entry::key));
+
+            String[] keys = new String[entries.size()];
+            int[] cities = new int[entries.size()];
+            byte[] kinds = new byte[entries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                Entry entry = entries.get(i);
+                keys[i] = entry.key();
+                cities[i] = entry.city();
+                kinds[i] = entry.kind();
+            }
+
+            String[] countries = byCountry.keySet().toArray(String[]::new);
+            int[][] countryCities = new int[countries.length][];
+            for (int i = 0; i < countries.length; i++) {
+                countryCities[i] = byCountry.get(countries[i]).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new Index(snapshot, keys, cities, kinds, countries, countryCities, cache);
+        }
+
+        List<CitySearchResult> search(String prefix, int limit, int maxScan) {
+            // Best score per city, since one city can match through several keys
+            Map<Integer, Integer> scores = new HashMap<>();
+            int start = lowerBound(keys, prefix);
+            int end = Math.min(keys.length, start + maxScan);
+            for (int i = start; i < end && keys[i].startsWith(prefix); i++) {
+                scores.merge(cities[i], score(i, prefix), Math::max);
+            }
+
+            // A country match scores below any name or code match, so it can only fill a short list
+            if (scores.size() < limit) {
+                int budget = maxScan;
+                for (int c = lowerBound(countries, prefix); c < countries.length && budget > 0
+                        && countries[c].startsWith(prefix); c++) {
+                    for (int k = 0; k < countryCities[c].length && budget > 0; k++, budget--) {
+                        int city = countryCities[c][k];
+                        scores.merge(city, cityScore(city, COUNTRY_SCORE), Math::max);
+                    }
+                }
+            }
+
+            PriorityQueue<int[]> top = new PriorityQueue<>(limit + 1,
+                    Comparator.<int[]>comparingInt(e -> e[1]).thenComparing(e -> -e[0]));
+            scores.forEach((city, score) -> {
+                top.offer(new int[] { city, score });
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            CitySearchResult[] results = new CitySearchResult[top.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = toResult(top.poll()[0]);
+            }
+            return List.of(results);
+        }
+
+        private int score(int entry, String prefix) {
+            boolean exact = keys[entry].length() == prefix.length();
+            int score = switch (kinds[entry]) {
+                case NAME -> exact ? 1000 : 800;
+                case IATA -> exact ? 900 : 500;
+                default -> exact ? 700 : 600;
+            };
+            return cityScore(cities[entry], score);
+        }
+
+        private int cityScore(int city, int score) {
+            // Prefer places we can price well, then shorter (closer) names
+            if (hasAirport(snapshot, city)) {
+                score += 50;
+            }
+            if (snapshot.hasCosts(city)) {
+                score += 25;
+            }
+            return score - Math.min(snapshot.name(city).length(), 50);
+        }
+
+        private static boolean hasAirport(ReferenceSnapshot snapshot, int city) {
+            String iata = snapshot.iataCode(city);
+            return iata != null && !iata.isBlank();
+        }
+
+        private static int lowerBound(String[] sorted, String prefix) {
+            int index = Arrays.binarySearch(sorted, prefix);
+            if (index < 0) {
+                return -index - 1;
+            }
+            // Step back to the first of several equal keys
+            while (index > 0 && sorted[index - 1].equals(prefix)) {
+                index--;
+            }
+            return index;
+        }
+
+        private CitySearchResult toResult(int city) {
+            return new CitySearchResult(snapshot.id(city), snapshot.name(city), snapshot.country(city),
+                    snapshot.iataCode(city), snapshot.hasCosts(city));
+        }
+    }
+
+    private record Entry(String key, int city, byte kind) {
+    }
+}
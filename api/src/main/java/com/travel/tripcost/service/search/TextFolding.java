@@ -0,0 +1,39 @@
+package com.travel.tripcost.service.search;
+
+import java.text.Normalizer;
+
+/**
+ * Normalises text for accent- and case-insensitive prefix matching:
+ * "São Paulo" and "sao  paulo" both fold to "sao paulo".
+ */
+public final class TextFolding {
+
+    private TextFolding() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && folded.length() > 0) {
+                    folded.append(' ');
+                }
+                pendingSpace = false;
+                folded.append(Character.toLowerCase(c));
+            } else {
+                // Spaces, hyphens and apostrophes all separate words
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package com.travel.tripcost.service.traffic;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate most-frequent keys over sliding windows, in fixed memory.
+ * <p>
+ * Time is cut into slots kept in a ring. Each slot has a Count-Min sketch
+ * ({@code depth} rows of {@code width} counters) that estimates how often any
+ * key was seen, plus a small set of candidate keys that might be in the top K.
+ * A key joins the candidates once its estimate reaches the slot's floor. When
+ * the set grows past {@code 4·k} it is trimmed back to the best {@code 2·k} and
+ * the floor is raised to the weakest survivor. A window's answer sums the
+ * estimates of every candidate across the slots it covers.
+ * <p>
+ * {@link #record} takes no locks. Counters are atomic, slot rotation is a CAS,
+ * and trimming runs on whichever thread wins a flag. Estimates can only be too
+ * high, never too low, and keys that are frequent but evenly spread may be
+ * missed in a slot's candidates.
+ */
+public class HeavyHitters {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL };
+
+    private final int k;
+    private final int width;
+    private final int depth;
+    private final long slotMillis;
+    private final Clock clock;
+    private final AtomicReferenceArray<Slot> slots;
+
+    public HeavyHitters(int k, int width, int depth, Duration slot, int slotCount, Clock clock) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        this.k = k;
+        this.width = width;
+        this.depth = depth;
+        this.slotMillis = slot.toMillis();
+        this.clock = clock;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+    }
+
+    public void record(String key) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        slot(clock.millis() / slotMillis).add(key);
+    }
+
+    /**
+     * Up to {@code k} keys seen most over the last {@code window}, rounded up
+     * to whole slots and capped at the ring's length.
+     */
+    public List<Entry> top(Duration window) {
+        long current = clock.millis() / slotMillis;
+        long covered = Math.min(slots.length(), Math.max(1, (window.toMillis() + slotMillis - 1) / slotMillis));
+
+        List<Slot> inWindow = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (long epoch = current - covered + 1; epoch <= current; epoch++) {
+            Slot slot = slots.get(index(epoch));
+            if (slot != null && slot.epoch == epoch) {
+                inWindow.add(slot);
+                keys.addAll(slot.candidates.keySet());
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long count = 0;
+            for (Slot slot : inWindow) {
+                count += slot.estimate(key);
+            }
+            entries.add(new Entry(key, count));
+        }
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+        return entries.size() > k ? List.copyOf(entries.subList(0, k)) : entries;
+    }
+
+    private Slot slot(long epoch) {
+        int index = index(epoch);
+        while (true) {
+            Slot slot = slots.get(index);
+            if (slot != null && slot.epoch >= epoch) {
+                // A late writer from the previous slot lands in the newer one
+                return slot;
+            }
+            Slot fresh = new Slot(epoch);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) slots.length());
+    }
+
+    private static int hash(String key, int row) {
+        long h = (key.hashCode() + 1L) * SEEDS[row];
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public record Entry(String key, long count) {
+    }
+
+    private final class Slot {
+
+        final long epoch;
+        final AtomicLongArray counters = new AtomicLongArray(width * depth);
+        final Map<String, Boolean> candidates = new ConcurrentHashMap<>();
+        final AtomicBoolean trimming = new AtomicBoolean();
+        volatile long floor;
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void add(String key) {
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                int cell = row * width + Math.floorMod(hash(key, row), width);
+                estimate = Math.min(estimate, counters.incrementAndGet(cell));
+            }
+            if (estimate >= floor && candidates.putIfAbsent(key, Boolean.TRUE) == null
+                    && candidates.size() > 4 * k) {
+                trim();
+            }
+        }
+
+        long estimate(String key) {
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                estimate = Math.min(estimate, counters.get(row * width + Math.floorMod(hash(key, row), width)));
+            }
+            return estimate;
+        }
+
+        private void trim() {
+            if (!trimming.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                List<Entry> ranked = new ArrayList<>();
+                for (String key : candidates.keySet()) {
+                    ranked.add(new Entry(key, estimate(key)));
+                }
+                ranked.sort(Comparator.comparingLong(Entry::count).reversed());
+                int keep = Math.min(ranked.size(), 2 * k);
+                floor = keep == 0 ? 0 : ranked.get(keep - 1).count();
+                for (Entry dropped : ranked.subList(keep, ranked.size())) {
+                    candidates.remove(dropped.key());
+                }
+            } finally {
+                trimming.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.travel.tripcost.service.traffic;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator view of {@link TrafficTracker}: {@code /api/heavyhitters} lists
+ * every dimension, {@code /api/heavyhitters/{dimension}} just one. Counts are
+ * approximate and may run high.
+ */
+@Component
+@Endpoint(id = "heavyhitters")
+@RequiredArgsConstructor
+public class HeavyHittersEndpoint {
+
+    private final TrafficTracker tracker;
+
+    @ReadOperation
+    public Map<String, Map<String, List<HeavyHitters.Entry>>> heavyHitters() {
+        Map<String, Map<String, List<HeavyHitters.Entry>>> all = new LinkedHashMap<>();
+        for (String dimension : tracker.dimensions()) {
+            all.put(dimension, tracker.top(dimension));
+        }
+        return all;
+    }
+
+    @ReadOperation
+    public Map<String, List<HeavyHitters.Entry>> dimension(@Selector String dimension) {
+        // null makes the actuator answer 404
+        return tracker.dimensions().contains(dimension) ? tracker.top(dimension) : null;
+    }
+}
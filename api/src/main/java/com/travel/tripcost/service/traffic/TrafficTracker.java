@@ -0,0 +1,75 @@
+package com.travel.tripcost.service.traffic;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.travel.tripcost.dto.TripRequest;
+
+/**
+ * Which routes, destinations and city searches dominate traffic, tracked with
+ * a {@link HeavyHitters} per dimension. Recording is cheap enough to call on
+ * every request.
+ */
+@Component
+public class TrafficTracker {
+
+    public static final String ROUTES = "routes";
+    public static final String DESTINATIONS = "destinations";
+    public static final String SEARCHES = "searches";
+
+    private static final int MAX_SEARCH_LENGTH = 32;
+
+    private final Map<String, HeavyHitters> dimensions = new LinkedHashMap<>();
+    private final List<Duration> windows;
+
+    public TrafficTracker(@Value("${heavy-hitters.top-k:20}") int topK,
+            @Value("${heavy-hitters.sketch-width:1024}") int width,
+            @Value("${heavy-hitters.sketch-depth:4}") int depth,
+            @Value("${heavy-hitters.slot:PT1M}") Duration slot,
+            @Value("${heavy-hitters.windows:PT1M,PT15M,PT1H}") List<Duration> windows) {
+        this.windows = List.copyOf(windows);
+        Duration longest = this.windows.stream().max(Duration::compareTo).orElse(slot);
+        int slotCount = (int) Math.max(1, (longest.toMillis() + slot.toMillis() - 1) / slot.toMillis());
+        for (String dimension : List.of(ROUTES, DESTINATIONS, SEARCHES)) {
+            dimensions.put(dimension, new HeavyHitters(topK, width, depth, slot, slotCount, Clock.systemUTC()));
+        }
+    }
+
+    public void recordEstimate(TripRequest request) {
+        dimensions.get(ROUTES).record(request.getOriginCityId() + "->" + request.getDestinationCityId());
+        dimensions.get(DESTINATIONS).record(request.getDestinationCityId());
+    }
+
+    public void recordCitySearch(String query) {
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        dimensions.get(SEARCHES).record(normalized.length() > MAX_SEARCH_LENGTH
+                ? normalized.substring(0, MAX_SEARCH_LENGTH)
+                : normalized);
+    }
+
+    /**
+     * Top keys of {@code dimension} for each configured window, keyed by the
+     * window's ISO-8601 duration.
+     */
+    public Map<String, List<HeavyHitters.Entry>> top(String dimension) {
+        HeavyHitters hitters = dimensions.get(dimension);
+        Map<String, List<HeavyHitters.Entry>> byWindow = new LinkedHashMap<>();
+        if (hitters != null) {
+            for (Duration window : windows) {
+                byWindow.put(window.toString(), hitters.top(window));
+            }
+        }
+        return byWindow;
+    }
+
+    public List<String> dimensions() {
+        return List.copyOf(dimensions.keySet());
+    }
+}
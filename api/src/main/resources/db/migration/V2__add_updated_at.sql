@@ -0,0 +1,6 @@
+-- Lets the API refresh its in-memory reference data incrementally
+ALTER TABLE cities ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE cost_indices ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE INDEX idx_cities_updated_at ON cities (updated_at);
+CREATE INDEX idx_cost_indices_updated_at ON cost_indices (updated_at);
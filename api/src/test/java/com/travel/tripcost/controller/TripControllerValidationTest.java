@@ -7,7 +7,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.travel.tripcost.dto.TripResponse;
 import com.travel.tripcost.provider.FlightProvider;
+import com.travel.tripcost.service.BatchTripService;
+import com.travel.tripcost.service.FareMatrixService;
 import com.travel.tripcost.service.TripService;
+import com.travel.tripcost.service.TripStreamService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,6 +26,15 @@ class TripControllerValidationTest {
     @MockBean
     private TripService tripService;
 
+    @MockBean
+    private BatchTripService batchTripService;
+
+    @MockBean
+    private FareMatrixService fareMatrixService;
+
+    @MockBean
+    private TripStreamService tripStreamService;
+
     // RealFlightProvider depends on external API; ensure it is mocked out for the
     // slice test.
     @MockBean(name = "realFlightProvider")
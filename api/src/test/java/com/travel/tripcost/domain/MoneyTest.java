@@ -0,0 +1,47 @@
+package com.travel.tripcost.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void fractionalFactorsRoundLikeHalfUp() {
+        for (long cents : new long[] { 1, 5, 15, 25, 333, 12345, -15, -333 }) {
+            BigDecimal expected = BigDecimal.valueOf(cents, 2).multiply(new BigDecimal("1.3"))
+                    .setScale(2, RoundingMode.HALF_UP);
+            assertThat(Money.ofCents(cents).times(13, 10).toDecimal()).isEqualTo(expected);
+        }
+        assertThat(Money.ofCents(5).times(1, 2)).isEqualTo(Money.ofCents(3));
+        assertThat(Money.ofCents(-5).times(1, 2)).isEqualTo(Money.ofCents(-3));
+    }
+
+    @Test
+    void floatingPointAmountsRoundToTheCent() {
+        assertThat(Money.ofMajor(0.1 + 0.2)).isEqualTo(Money.parse("0.30"));
+        assertThat(Money.ofMajor(199.999)).isEqualTo(Money.parse("200.00"));
+        assertThat(Money.parse("10.005")).isEqualTo(Money.ofCents(1001));
+    }
+
+    @Test
+    void writesAndReadsPlainDecimalNumbers() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.parse("120.5"))).isEqualTo("120.50");
+        assertThat(objectMapper.readValue("99.99", Money.class)).isEqualTo(Money.ofCents(9999));
+    }
+
+    @Test
+    void refusesToMixCurrencies() {
+        assertThatThrownBy(() -> Money.ZERO.plus(new Money(100, "EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("10").plus(Money.of(new BigDecimal("9.99"), "EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Money.of(new BigDecimal("9.99"), Money.USD)).isEqualTo(Money.parse("9.99"));
+    }
+}
@@ -4,14 +4,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.travel.tripcost.domain.City;
 import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.BatchTripResponse;
+import com.travel.tripcost.dto.CitySearchResult;
+import com.travel.tripcost.dto.FareMatrixResponse;
 import com.travel.tripcost.dto.TripResponse;
 import com.travel.tripcost.dto.TripResponse.CostRange;
 import com.travel.tripcost.provider.FlightProvider;
 import com.travel.tripcost.repository.CityRepository;
 import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.traffic.HeavyHitters;
+import com.travel.tripcost.service.traffic.TrafficTracker;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -20,8 +30,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.annotation.DirtiesContext;
@@ -49,6 +64,12 @@ class TripEstimateSmokeTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private TrafficTracker trafficTracker;
+
     @MockBean(name = "realFlightProvider")
     private FlightProvider flightProvider;
 
@@ -69,8 +90,9 @@ class TripEstimateSmokeTest {
         String originIata = randomIata();
         String destIata = randomIata();
 
-        City origin = new City("ORIG", "Origin City", "UK", originIata, 51.5, -0.1, null);
-        City dest = new City("DEST", "Dest City", "FR", destIata, 48.8, 2.35, null);
+        City origin = new City("ORIG", "Origin City", "UK", originIata, 51.5, -0.1, null, null);
+        // Far enough from the origin that the trip is flown rather than priced overland
+        City dest = new City("DEST", "Dest City", "IT", destIata, 41.9, 12.5, null, null);
         cityRepository.save(origin);
         cityRepository.save(dest);
 
@@ -83,11 +105,14 @@ class TripEstimateSmokeTest {
         dest.setCostIndex(destCosts);
         // Persist via city cascade to satisfy shared PK mapping
         cityRepository.saveAndFlush(dest);
+        // Estimates read cities from the in-memory snapshot, so pick up the new rows
+        referenceDataRegistry.refresh();
 
         CostRange flightRange = new CostRange();
-        flightRange.setMin(BigDecimal.valueOf(100));
-        flightRange.setMax(BigDecimal.valueOf(200));
+        flightRange.setMin(Money.ofMajor(100));
+        flightRange.setMax(Money.ofMajor(200));
         flightRange.setConfidence("HIGH");
+        flightRange.setLive(true);
         Mockito.when(flightProvider.getFlightQuote(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
                 Mockito.anyInt(), Mockito.any(), Mockito.anyDouble())).thenReturn(flightRange);
     }
@@ -110,7 +135,196 @@ class TripEstimateSmokeTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getBreakdown()).isNotNull();
-        assertThat(response.getBody().getBreakdown().getTransport().getMin()).isEqualTo(BigDecimal.valueOf(100));
+        assertThat(response.getBody().getBreakdown().getTransport().getMin()).isEqualTo(Money.ofMajor(100));
+    }
+
+    @Test
+    void batchEndpointSharesFlightQuotesAndReportsItemErrors() {
+        LocalDate start = LocalDate.now().plusDays(30);
+        LocalDate end = start.plusDays(4);
+        Map<String, Object> trip = Map.of(
+                "originCityId", "ORIG",
+                "destinationCityId", "DEST",
+                "startDate", start.toString(),
+                "endDate", end.toString(),
+                "travellers", 2,
+                "preference", "BALANCED");
+        Map<String, Object> unknownCity = new java.util.HashMap<>(trip);
+        unknownCity.put("destinationCityId", "NOPE");
+
+        ResponseEntity<BatchTripResponse> response = restTemplate.postForEntity(
+                baseUrl() + "/api/trips/estimate/batch",
+                Map.of("requests", List.of(trip, trip, unknownCity)),
+                BatchTripResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<BatchTripResponse.Item> results = response.getBody().getResults();
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getResult().getBreakdown().getTransport().getMin())
+                .isEqualTo(Money.ofMajor(100));
+        assertThat(results.get(1).getResult()).isNotNull();
+        assertThat(results.get(2).getError()).isEqualTo("Invalid Destination City ID");
+
+        // Both valid items have the same quote key, so the provider is only asked once
+        Mockito.verify(flightProvider, Mockito.times(1)).getFlightQuote(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any(), Mockito.anyDouble());
+        // Every item that passed validation counts towards the traffic views
+        assertThat(trafficTracker.top(TrafficTracker.ROUTES).values().iterator().next())
+                .contains(new HeavyHitters.Entry("ORIG->DEST", 2));
+    }
+
+    @Test
+    void liveFareWithGroundTransferIsStillReportedAsLive() {
+        // No airport of its own, so it flies from ORIG after a ground transfer
+        cityRepository.saveAndFlush(new City("OUTSKIRTS", "Outskirts", "UK", null, 51.75, -0.1, null, null));
+        referenceDataRegistry.refresh();
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        String url = baseUrl() + "/api/trips/estimate"
+                + "?originCityId=OUTSKIRTS"
+                + "&destinationCityId=DEST"
+                + "&startDate=" + start
+                + "&endDate=" + start.plusDays(4)
+                + "&travellers=2"
+                + "&preference=BALANCED";
+
+        ResponseEntity<TripResponse> response = restTemplate.getForEntity(url, TripResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        CostRange transport = response.getBody().getBreakdown().getTransport();
+        assertThat(transport.getConfidence()).isEqualTo("MEDIUM");
+        assertThat(transport.getMin()).isGreaterThan(Money.ofMajor(100));
+        assertThat(response.getBody().getMetadata().getDataSource()).isEqualTo("Amadeus Live");
+    }
+
+    @Test
+    void streamSendsStayCostsAndProvisionalTransportBeforeTheQuote() {
+        CostRange slowQuote = new CostRange();
+        slowQuote.setMin(Money.ofMajor(100));
+        slowQuote.setMax(Money.ofMajor(200));
+        slowQuote.setConfidence("HIGH");
+        slowQuote.setLive(true);
+        Mockito.when(flightProvider.getFlightQuote(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt(), Mockito.any(), Mockito.anyDouble())).thenAnswer(invocation -> {
+                    Thread.sleep(300);
+                    return slowQuote;
+                });
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        String url = baseUrl() + "/api/trips/estimate/stream"
+                + "?originCityId=ORIG"
+                + "&destinationCityId=DEST"
+                + "&startDate=" + start
+                + "&endDate=" + start.plusDays(4)
+                + "&travellers=2"
+                + "&preference=BALANCED";
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_EVENT_STREAM)).isTrue();
+        List<String> events = response.getBody().lines()
+                .filter(line -> line.startsWith("event:"))
+                .map(line -> line.substring("event:".length()))
+                .toList();
+        assertThat(events).containsExactlyInAnyOrder("provisionalTransport", "accommodation", "food",
+                "localTransit", "transport", "total", "alternatives", "metadata");
+        assertThat(events.get(0)).isEqualTo("provisionalTransport");
+        assertThat(events.indexOf("accommodation")).isLessThan(events.indexOf("transport"));
+        assertThat(events.subList(events.size() - 3, events.size()))
+                .containsExactly("total", "alternatives", "metadata");
+        assertThat(response.getBody()).contains("\"dataSource\":\"Amadeus Live\"");
+    }
+
+    @Test
+    void streamReportsValidationErrorsAsBadRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        String url = baseUrl() + "/api/trips/estimate/stream"
+                + "?originCityId=ORIG"
+                + "&destinationCityId=ORIG"
+                + "&startDate=" + start
+                + "&endDate=" + start.plusDays(4)
+                + "&travellers=2"
+                + "&preference=BALANCED";
+
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Origin and destination cities must be different");
+    }
+
+    @Test
+    void fareMatrixPricesEveryDatePairAroundTheRequestedDates() {
+        LocalDate start = LocalDate.now().plusDays(30);
+        LocalDate end = start.plusDays(4);
+
+        String url = baseUrl() + "/api/trips/fare-matrix"
+                + "?originCityId=ORIG"
+                + "&destinationCityId=DEST"
+                + "&startDate=" + start
+                + "&endDate=" + end
+                + "&travellers=2"
+                + "&preference=BALANCED"
+                + "&flexDays=1";
+
+        ResponseEntity<FareMatrixResponse> response = restTemplate.getForEntity(url, FareMatrixResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        FareMatrixResponse matrix = response.getBody();
+        assertThat(matrix.getDepartureDates()).containsExactly(start.minusDays(1), start, start.plusDays(1));
+        assertThat(matrix.getReturnDates()).containsExactly(end.minusDays(1), end, end.plusDays(1));
+        assertThat(matrix.getCells()).hasSize(9).allSatisfy(cell -> {
+            assertThat(cell.getError()).isNull();
+            assertThat(cell.getTransport().getMin()).isEqualTo(Money.ofMajor(100));
+            assertThat(cell.getTotal().getMin()).isGreaterThan(cell.getTransport().getMin());
+        });
+        // Every pair has the same fare here, so the shortest stay is the cheapest
+        assertThat(matrix.getCheapest().getNights()).isEqualTo(2);
+        Mockito.verify(flightProvider, Mockito.times(9)).getFlightQuote(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any(), Mockito.anyDouble());
+    }
+
+    @Test
+    void fareMatrixRejectsTooWideAWindow() {
+        LocalDate start = LocalDate.now().plusDays(30);
+
+        String url = baseUrl() + "/api/trips/fare-matrix"
+                + "?originCityId=ORIG"
+                + "&destinationCityId=DEST"
+                + "&startDate=" + start
+                + "&endDate=" + start.plusDays(4)
+                + "&travellers=2"
+                + "&preference=BALANCED"
+                + "&flexDays=10";
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void citySearchFlagsCitiesWithCostData() {
+        ResponseEntity<CitySearchResult[]> response = restTemplate.getForEntity(
+                baseUrl() + "/api/locations/cities?q=city", CitySearchResult[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(CitySearchResult::id, CitySearchResult::hasCostData)
+                .containsExactlyInAnyOrder(Tuple.tuple("ORIG", false), Tuple.tuple("DEST", true));
+    }
+
+    @Test
+    void databaseCitySearchMatchesNamePrefixesInOneProjection() {
+        assertThat(cityRepository.searchByNamePrefix("DEST", PageRequest.of(0, 10)))
+                .containsExactly(new CitySearchResult("DEST", "Dest City", "IT",
+                        cityRepository.findById("DEST").orElseThrow().getIataCode(), true));
+        assertThat(cityRepository.searchByNamePrefix("", PageRequest.of(0, 10)))
+                .extracting(CitySearchResult::id, CitySearchResult::hasCostData)
+                .containsExactly(Tuple.tuple("DEST", true), Tuple.tuple("ORIG", false));
+        assertThat(cityRepository.searchByNamePrefix("\\%", PageRequest.of(0, 10))).isEmpty();
     }
 
     @Test
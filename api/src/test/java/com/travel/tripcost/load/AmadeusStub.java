@@ -0,0 +1,138 @@
+package com.travel.tripcost.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the two Amadeus endpoints the API calls. Searches wait
+ * for a log-normal latency fitted to the configured median and p99, and fail
+ * with 401, 429 or 503 at the configured rates; successful ones return
+ * {@code stubOffers} offers. Responses are counted by endpoint and status.
+ */
+final class AmadeusStub implements AutoCloseable {
+
+    private static final double Z_99 = 2.326;
+
+    private final LoadSettings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger tokens = new AtomicInteger();
+    private final double mu;
+    private final double sigma;
+
+    AmadeusStub(LoadSettings settings) throws IOException {
+        this.settings = settings;
+        this.mu = Math.log(settings.stubLatencyMedian().toNanos());
+        this.sigma = Math.log((double) settings.stubLatencyP99().toNanos() / settings.stubLatencyMedian().toNanos())
+                / Z_99;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/security/oauth2/token", this::token);
+        server.createContext("/v2/shopping/flight-offers", this::search);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Response counts keyed by {@code endpoint status}, in name order.
+     */
+    Map<String, Long> responses() {
+        Map<String, Long> counts = new TreeMap<>();
+        responses.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        String body = "{\"type\":\"amadeusOAuth2Token\",\"access_token\":\"stub-" + tokens.incrementAndGet()
+                + "\",\"token_type\":\"Bearer\",\"expires_in\":1799,\"state\":\"approved\"}";
+        respond(exchange, "token", 200, body);
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        sleep(latencyNanos());
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.stubUnauthorizedRate()) {
+            respond(exchange, "search", 401, "{\"errors\":[{\"status\":401,\"code\":38192,"
+                    + "\"title\":\"Invalid access token\"}]}");
+        } else if ((roll -= settings.stubUnauthorizedRate()) < settings.stubRateLimitedRate()) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            respond(exchange, "search", 429, "{\"errors\":[{\"status\":429,\"code\":38194,"
+                    + "\"title\":\"Too many requests\"}]}");
+        } else if ((roll -= settings.stubRateLimitedRate()) < settings.stubServerErrorRate()) {
+            respond(exchange, "search", 503, "{\"errors\":[{\"status\":503,\"title\":\"Service unavailable\"}]}");
+        } else {
+            respond(exchange, "search", 200, offers(settings.stubOffers()));
+        }
+    }
+
+    private long latencyNanos() {
+        if (sigma <= 0) {
+            return settings.stubLatencyMedian().toNanos();
+        }
+        return (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    private static String offers(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder json = new StringBuilder("{\"meta\":{\"count\":").append(count).append("},\"data\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String total = String.format(Locale.ROOT, "%.2f", 80 + random.nextDouble(400));
+            json.append("{\"type\":\"flight-offer\",\"id\":\"").append(i + 1)
+                    .append("\",\"source\":\"GDS\",\"itineraries\":[")
+                    .append("{\"duration\":\"PT").append(2 + random.nextInt(10)).append("H")
+                    .append(random.nextInt(60)).append("M\",\"segments\":[{\"departure\":{\"iataCode\":\"AAA\","
+                            + "\"at\":\"2030-06-01T08:00:00\"},\"arrival\":{\"iataCode\":\"BBB\","
+                            + "\"at\":\"2030-06-01T11:00:00\"},\"carrierCode\":\"XX\",\"number\":\"100\"}]},")
+                    .append("{\"duration\":\"PT").append(2 + random.nextInt(10)).append("H\",\"segments\":[]}],")
+                    .append("\"price\":{\"currency\":\"USD\",\"total\":\"").append(total)
+                    .append("\",\"base\":\"").append(total).append("\",\"grandTotal\":\"").append(total)
+                    .append("\"},\"validatingAirlineCodes\":[\"XX\"]}");
+        }
+        return json.append("],\"dictionaries\":{\"carriers\":{\"XX\":\"STUB AIR\"}}}").toString();
+    }
+
+    private void respond(HttpExchange exchange, String endpoint, int status, String body) throws IOException {
+        responses.computeIfAbsent(endpoint + " " + status, key -> new LongAdder()).increment();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
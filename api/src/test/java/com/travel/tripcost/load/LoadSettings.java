@@ -0,0 +1,51 @@
+package com.travel.tripcost.load;
+
+import java.time.Duration;
+
+/**
+ * Knobs for {@link TripLoadTest}, read from {@code -Dload.*} system properties
+ * so runs can be varied from the Maven command line.
+ */
+record LoadSettings(
+        Duration warmup,
+        Duration duration,
+        int clients,
+        double estimateShare,
+        int cities,
+        int routes,
+        double routeSkew,
+        double amadeusRequestsPerSecond,
+        Duration stubLatencyMedian,
+        Duration stubLatencyP99,
+        double stubUnauthorizedRate,
+        double stubRateLimitedRate,
+        double stubServerErrorRate,
+        int stubOffers) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                duration("load.warmup", "PT5S"),
+                duration("load.duration", "PT30S"),
+                Integer.getInteger("load.clients", 32),
+                number("load.estimate-share", 0.3),
+                Integer.getInteger("load.cities", 300),
+                Integer.getInteger("load.routes", 200),
+                number("load.route-skew", 2.0),
+                number("load.amadeus.requests-per-second", 20),
+                duration("load.stub.latency-median", "PT0.15S"),
+                duration("load.stub.latency-p99", "PT0.8S"),
+                number("load.stub.unauthorized-rate", 0.01),
+                number("load.stub.rate-limited-rate", 0.02),
+                number("load.stub.server-error-rate", 0.02),
+                Integer.getInteger("load.stub.offers", 10));
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return Duration.parse(System.getProperty(name, defaultValue));
+    }
+
+    private static double number(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,291 @@
+package com.travel.tripcost.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.travel.tripcost.domain.City;
+import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Drives a mix of trip estimates and city autocomplete against the running API,
+ * with Amadeus replaced by {@link AmadeusStub}, and reports throughput, latency
+ * percentiles, circuit breaker transitions and cache hit ratios.
+ * <p>
+ * Tagged {@code load} and skipped by the default build; run it with
+ * {@code mvn test -Pload-test}, tuning {@link LoadSettings} through
+ * {@code -Dload.*}. Add {@code -Dspring.profiles.active=virtual-threads} to
+ * compare against virtual-thread request handling, or point
+ * {@code spring.datasource.*} at Postgres instead of H2.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "amadeus.client.id=load",
+        "amadeus.client.secret=load",
+        "resilience4j.circuitbreaker.instances.flightApi.slidingWindowSize=20",
+        "resilience4j.circuitbreaker.instances.flightApi.minimumNumberOfCalls=10",
+        "resilience4j.circuitbreaker.instances.flightApi.failureRateThreshold=50",
+        "resilience4j.circuitbreaker.instances.flightApi.waitDurationInOpenState=10s",
+        "resilience4j.circuitbreaker.instances.flightApi.permittedNumberOfCallsInHalfOpenState=3",
+        "resilience4j.circuitbreaker.instances.flightApi.ignoreExceptions[0]="
+                + "com.travel.tripcost.provider.amadeus.AmadeusRateLimitException"
+})
+class TripLoadTest {
+
+    private static final LoadSettings SETTINGS = LoadSettings.fromSystemProperties();
+    private static final String[] SYLLABLES = { "ber", "lin", "ma", "dri", "par", "is", "ro", "me", "vie", "nna",
+            "lis", "bon", "pra", "gue", "os", "lo", "ham", "burg", "mi", "lan", "war", "saw", "ath", "ens" };
+
+    private static AmadeusStub stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void amadeusStub(DynamicPropertyRegistry registry) throws IOException {
+        stub = new AmadeusStub(SETTINGS);
+        registry.add("amadeus.api.url", stub::url);
+        registry.add("amadeus.rate-limit.requests-per-second", SETTINGS::amadeusRequestsPerSecond);
+        registry.add("amadeus.rate-limit.burst", () -> (int) Math.ceil(SETTINGS.amadeusRequestsPerSecond()));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void sustainsMixedTraffic() throws Exception {
+        List<City> cities = seedCities();
+        List<String[]> routes = routes(cities);
+
+        ConcurrentLinkedQueue<String> breakerLog = new ConcurrentLinkedQueue<>();
+        long started = System.nanoTime();
+        circuitBreakerRegistry.circuitBreaker("flightApi").getEventPublisher().onStateTransition(event -> breakerLog
+                .add(String.format(Locale.ROOT, "+%.1fs %s", (System.nanoTime() - started) / 1e9,
+                        event.getStateTransition())));
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        Recorder estimates = new Recorder();
+        Recorder autocomplete = new Recorder();
+
+        long warmupEnd = started + SETTINGS.warmup().toNanos();
+        long end = warmupEnd + SETTINGS.duration().toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < SETTINGS.clients(); i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        boolean measured = now >= warmupEnd;
+                        if (random.nextDouble() < SETTINGS.estimateShare()) {
+                            call(http, estimateUri(routes, random), measured ? estimates : null);
+                        } else {
+                            call(http, autocompleteUri(cities, random), measured ? autocomplete : null);
+                        }
+                    }
+                });
+            }
+        }
+
+        String report = report(estimates, autocomplete, new ArrayList<>(breakerLog));
+        System.out.println(report);
+        String profile = String.join("+", environment.getActiveProfiles());
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "load-report" + (profile.isEmpty() ? "" : "-" + profile) + ".txt"),
+                report);
+
+        assertThat(estimates.count() + autocomplete.count()).isPositive();
+        // Amadeus failures must be absorbed by fallbacks, never surface as API errors
+        assertThat(estimates.serverErrors.sum() + autocomplete.serverErrors.sum()).isZero();
+    }
+
+    private List<City> seedCities() {
+        Random random = new Random(42);
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < SETTINGS.cities(); i++) {
+            String name = SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + (i % 7 == 0 ? "" : " " + SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            City city = new City(String.format(Locale.ROOT, "L%05d", i),
+                    Character.toUpperCase(name.charAt(0)) + name.substring(1), "XX",
+                    "" + (char) ('A' + i / 676 % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26),
+                    36 + random.nextDouble() * 24, -10 + random.nextDouble() * 40, null, null);
+            CostIndex costs = new CostIndex();
+            costs.setCity(city);
+            costs.setAccommodationLow(BigDecimal.valueOf(30 + random.nextInt(100)));
+            costs.setAccommodationMid(costs.getAccommodationLow().multiply(BigDecimal.valueOf(2)));
+            costs.setFoodDaily(BigDecimal.valueOf(15 + random.nextInt(50)));
+            costs.setLocalTransitDaily(BigDecimal.valueOf(3 + random.nextInt(15)));
+            city.setCostIndex(costs);
+            cities.add(city);
+        }
+        cityRepository.saveAllAndFlush(cities);
+        referenceDataRegistry.reload();
+        return cities;
+    }
+
+    private List<String[]> routes(List<City> cities) {
+        Random random = new Random(7);
+        List<String[]> routes = new ArrayList<>();
+        while (routes.size() < SETTINGS.routes()) {
+            City origin = cities.get(random.nextInt(cities.size()));
+            City destination = cities.get(random.nextInt(cities.size()));
+            if (origin != destination) {
+                routes.add(new String[] { origin.getId(), destination.getId() });
+            }
+        }
+        return routes;
+    }
+
+    private URI estimateUri(List<String[]> routes, ThreadLocalRandom random) {
+        // Skewed towards the first routes, so a few are hot as in real traffic
+        String[] route = routes.get((int) (routes.size() * Math.pow(random.nextDouble(), SETTINGS.routeSkew())));
+        LocalDate start = LocalDate.now().plusDays(30 + random.nextInt(3));
+        return URI.create("http://localhost:" + port + "/api/trips/estimate?originCityId=" + route[0]
+                + "&destinationCityId=" + route[1] + "&startDate=" + start + "&endDate=" + start.plusDays(5)
+                + "&travellers=" + (1 + random.nextInt(2)) + "&preference=BALANCED");
+    }
+
+    private URI autocompleteUri(List<City> cities, ThreadLocalRandom random) {
+        String name = cities.get(random.nextInt(cities.size())).getName();
+        String prefix = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+        return URI.create("http://localhost:" + port + "/api/locations/cities?q="
+                + URLEncoder.encode(prefix, StandardCharsets.UTF_8));
+    }
+
+    private static void call(HttpClient http, URI uri, Recorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (recorder != null) {
+                recorder.record(System.nanoTime() - start, response.statusCode());
+            }
+        } catch (IOException e) {
+            if (recorder != null) {
+                recorder.record(System.nanoTime() - start, 599);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String report(Recorder estimates, Recorder autocomplete, List<String> breakerLog) {
+        double seconds = SETTINGS.duration().toNanos() / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%nLoad test: profiles %s, %d clients, %ss measured, %.0f%% estimates%n",
+                Arrays.toString(environment.getActiveProfiles()), SETTINGS.clients(), seconds,
+                SETTINGS.estimateShare() * 100));
+        out.append(String.format(Locale.ROOT, "%-13s %9s %7s %9s %8s %8s %8s %8s%n", "operation", "requests",
+                "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        estimates.appendRow(out, "estimate", seconds);
+        autocomplete.appendRow(out, "autocomplete", seconds);
+
+        out.append("Amadeus stub responses: ").append(stub.responses()).append('\n');
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("flightApi");
+        out.append("flightApi breaker: ").append(breaker.getState()).append(", transitions ")
+                .append(breakerLog.isEmpty() ? "none" : breakerLog).append('\n');
+
+        Map<String, double[]> gets = new TreeMap<>();
+        for (FunctionCounter counter : meterRegistry.find("cache.gets").functionCounters()) {
+            double[] hitsAndMisses = gets.computeIfAbsent(counter.getId().getTag("cache"), name -> new double[2]);
+            hitsAndMisses["hit".equals(counter.getId().getTag("result")) ? 0 : 1] += counter.count();
+        }
+        gets.forEach((cache, counts) -> out.append(String.format(Locale.ROOT,
+                "cache %s: %.0f hits, %.0f misses, hit ratio %.2f%n", cache, counts[0], counts[1],
+                counts[0] + counts[1] == 0 ? 0 : counts[0] / (counts[0] + counts[1]))));
+        meterRegistry.find("flight.quotes.fallback").counters().forEach(counter -> out.append(String.format(
+                Locale.ROOT, "fallbacks %s/%s: %.0f%n", counter.getId().getTag("reason"),
+                counter.getId().getTag("served"), counter.count())));
+        return out.toString();
+    }
+
+    private static final class Recorder {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        void record(long nanos, int status) {
+            latencies.add(nanos);
+            if (status >= 400) {
+                errors.increment();
+            }
+            if (status >= 500) {
+                serverErrors.increment();
+            }
+        }
+
+        long count() {
+            return latencies.size();
+        }
+
+        void appendRow(StringBuilder out, String name, double seconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            out.append(String.format(Locale.ROOT, "%-13s %9d %7d %9.1f %8.1f %8.1f %8.1f %8.1f%n", name,
+                    sorted.length, errors.sum(), sorted.length / seconds, percentile(sorted, 0.50),
+                    percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0)));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
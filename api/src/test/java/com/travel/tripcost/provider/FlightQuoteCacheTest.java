@@ -0,0 +1,168 @@
+package com.travel.tripcost.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class FlightQuoteCacheTest {
+
+    private static final FlightQuoteKey KEY = new FlightQuoteKey("LHR", "CDG", "2030-01-01", "2030-01-05", 1,
+            "BALANCED", true);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    // Departure is three weeks out, so quotes get the 10m soft / 15m hard tier
+    private final FlightQuoteCache cache = new FlightQuoteCache(meterRegistry, Runnable::run,
+            new FlightQuoteCacheProperties(Duration.ofHours(6), 0, 1 << 20, null), nanos::get,
+            Clock.fixed(Instant.parse("2029-12-11T12:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void concurrentMissesShareOneSearch() throws Exception {
+        AtomicInteger searches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        List<Future<CostRange>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(KEY, () -> {
+                    searches.incrementAndGet();
+                    await(release);
+                    return quote("120.00");
+                })));
+            }
+            // Let every caller reach the cache before the search finishes
+            while (meterRegistry.counter("flight.quotes.coalesced").count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<CostRange> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getMin()).isEqualTo(Money.parse("120.00"));
+            }
+        }
+
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.counter("flight.quotes.coalesced").count()).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void failureReachesCallerAndIsNotCached() {
+        assertThatThrownBy(() -> cache.get(KEY, () -> {
+            throw new IllegalStateException("Amadeus returned no flight offers");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(KEY, () -> quote("99.00")).getMin()).isEqualTo(Money.parse("99.00"));
+        assertThat(cache.get(KEY, () -> quote("1.00")).getMin()).isEqualTo(Money.parse("99.00"));
+    }
+
+    @Test
+    void quotePastSoftTtlIsServedWhileRefreshing() {
+        cache.get(KEY, () -> quote("100.00"));
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Refresh runs inline here, so the next caller already sees the new quote
+        assertThat(cache.get(KEY, () -> quote("110.00")).getMin()).isEqualTo(Money.parse("100.00"));
+        assertThat(cache.get(KEY, () -> quote("120.00")).getMin()).isEqualTo(Money.parse("110.00"));
+        assertThat(meterRegistry.timer("flight.quotes.refreshes").count()).isEqualTo(1L);
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousQuote() {
+        cache.get(KEY, () -> quote("100.00"));
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertThat(cache.get(KEY, () -> {
+            throw new IllegalStateException("Amadeus down");
+        }).getMin()).isEqualTo(Money.parse("100.00"));
+        assertThat(meterRegistry.counter("flight.quotes.refresh.failures").count()).isEqualTo(1);
+        assertThat(cache.getStale(KEY)).isPresent();
+    }
+
+    @Test
+    void quotePastHardTtlIsRefetchedButKeptForFallback() {
+        cache.get(KEY, () -> quote("100.00"));
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+
+        assertThatThrownBy(() -> cache.get(KEY, () -> {
+            throw new IllegalStateException("Amadeus down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getStale(KEY)).hasValueSatisfying(q -> assertThat(q.getMin()).isEqualTo(Money.parse("100.00")));
+
+        assertThat(cache.get(KEY, () -> quote("130.00")).getMin()).isEqualTo(Money.parse("130.00"));
+    }
+
+    @Test
+    void quotesForDistantDeparturesLiveLonger() {
+        FlightQuoteKey nextSummer = new FlightQuoteKey("LHR", "CDG", "2030-07-01", "2030-07-05", 1, "BALANCED",
+                true);
+        cache.get(KEY, () -> quote("100.00"));
+        cache.get(nextSummer, () -> quote("200.00"));
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+
+        assertThat(cache.get(nextSummer, () -> quote("210.00")).getMin()).isEqualTo(Money.parse("200.00"));
+        assertThat(cache.get(KEY, () -> quote("110.00")).getMin()).isEqualTo(Money.parse("110.00"));
+    }
+
+    @Test
+    void prefetchReplacesQuoteDueForRefresh() {
+        assertThat(cache.isDueForRefresh(KEY, Duration.ofMinutes(2))).isTrue();
+        cache.get(KEY, () -> quote("100.00"));
+        assertThat(cache.isDueForRefresh(KEY, Duration.ofMinutes(2))).isFalse();
+
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertThat(cache.isDueForRefresh(KEY, Duration.ofMinutes(2))).isTrue();
+        cache.prefetch(KEY, () -> quote("105.00"));
+
+        assertThat(cache.isDueForRefresh(KEY, Duration.ofMinutes(2))).isFalse();
+        assertThat(cache.get(KEY, () -> quote("1.00")).getMin()).isEqualTo(Money.parse("105.00"));
+    }
+
+    @Test
+    void recordsHitsMissesAndLoads() {
+        cache.get(KEY, () -> quote("100.00"));
+        cache.get(KEY, () -> quote("100.00"));
+        assertThatThrownBy(() -> cache.get(new FlightQuoteKey("LHR", "CDG", "2030-01-01", "2030-01-05", 2, "BALANCED", true), () -> {
+            throw new IllegalStateException("Amadeus down");
+        }));
+
+        CacheStats stats = cache.asyncCache().synchronous().stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.loadSuccessCount()).isEqualTo(1);
+        assertThat(stats.loadFailureCount()).isEqualTo(1);
+    }
+
+    private static CostRange quote(String min) {
+        CostRange range = new CostRange();
+        range.setMin(Money.parse(min));
+        range.setMax(Money.parse(min));
+        range.setConfidence("HIGH");
+        return range;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.travel.tripcost.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.provider.amadeus.AmadeusRateGovernor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuotePrefetcherTest {
+
+    private static final Instant PEAK = Instant.parse("2029-12-11T12:00:00Z");
+    private static final Instant OFF_PEAK = Instant.parse("2029-12-11T03:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final QuotePopularity popularity = new QuotePopularity();
+    private final FlightProvider flightProvider = mock(FlightProvider.class);
+    private final AmadeusRateGovernor rateGovernor = mock(AmadeusRateGovernor.class);
+    private FlightQuoteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FlightQuoteCache(meterRegistry, Runnable::run,
+                new FlightQuoteCacheProperties(Duration.ofHours(6), 0, 1 << 20, null), nanos::get,
+                Clock.fixed(PEAK, ZoneOffset.UTC));
+        when(rateGovernor.hasSpareCapacity()).thenReturn(true);
+    }
+
+    @Test
+    void refreshesHottestKeysWithinPeakBudget() {
+        // 10 rps over a minute at the default 10% share allows 60 searches; recording 70 keys exceeds it
+        for (int i = 0; i < 70; i++) {
+            FlightQuoteKey key = key(i);
+            for (int hits = 0; hits <= i; hits++) {
+                popularity.record(key);
+            }
+        }
+
+        assertThat(prefetcher(PEAK).prefetchHottest()).isEqualTo(60);
+        verify(flightProvider).prefetch(key(69));
+        verify(flightProvider, never()).prefetch(key(0));
+        assertThat(meterRegistry.counter("flight.quotes.prefetch", "outcome", "success").count()).isEqualTo(60);
+    }
+
+    @Test
+    void skipsQuotesThatAreStillFresh() {
+        FlightQuoteKey fresh = key(1);
+        FlightQuoteKey expiring = key(2);
+        popularity.record(fresh);
+        popularity.record(expiring);
+        cache.get(expiring, () -> quote("100.00"));
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.get(fresh, () -> quote("100.00"));
+        // expiring is now 9 of its 10 minutes in, fresh only 4
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+
+        assertThat(prefetcher(PEAK).prefetchHottest()).isEqualTo(1);
+        verify(flightProvider).prefetch(expiring);
+        verify(flightProvider, never()).prefetch(fresh);
+    }
+
+    @Test
+    void offPeakLooksFurtherAhead() {
+        FlightQuoteKey key = key(1);
+        popularity.record(key);
+        cache.get(key, () -> quote("100.00"));
+
+        assertThat(prefetcher(PEAK).prefetchHottest()).isZero();
+        assertThat(prefetcher(OFF_PEAK).prefetchHottest()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsWhenAmadeusHasNoSpareCapacity() {
+        popularity.record(key(1));
+        when(rateGovernor.hasSpareCapacity()).thenReturn(false);
+
+        assertThat(prefetcher(PEAK).prefetchHottest()).isZero();
+        verify(flightProvider, never()).prefetch(any());
+        assertThat(meterRegistry.counter("flight.quotes.prefetch.deferred").count()).isEqualTo(1);
+    }
+
+    @Test
+    void departedKeysAreDropped() {
+        popularity.record(new FlightQuoteKey("LHR", "CDG", "2029-12-01", "2029-12-05", 1, "BALANCED", true));
+        popularity.record(key(1));
+        popularity.record(key(1));
+
+        popularity.decay(0.9, PEAK.atZone(ZoneOffset.UTC).toLocalDate());
+
+        assertThat(popularity.size()).isEqualTo(1);
+    }
+
+    private QuotePrefetcher prefetcher(Instant now) {
+        return new QuotePrefetcher(popularity, flightProvider, cache, rateGovernor, Runnable::run, meterRegistry,
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static FlightQuoteKey key(int travellers) {
+        return new FlightQuoteKey("LHR", "CDG", "2030-01-01", "2030-01-05", travellers, "BALANCED", true);
+    }
+
+    private static CostRange quote(String min) {
+        CostRange range = new CostRange();
+        range.setMin(Money.parse(min));
+        range.setMax(Money.parse(min));
+        range.setConfidence("HIGH");
+        return range;
+    }
+}
@@ -5,17 +5,21 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.travel.tripcost.domain.Money;
 import com.travel.tripcost.dto.TripResponse.CostRange;
 import com.travel.tripcost.provider.amadeus.AmadeusApiClient;
-import com.travel.tripcost.provider.amadeus.FlightOfferResponse;
+import com.travel.tripcost.provider.amadeus.FlightPriceSummary;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -28,43 +32,61 @@ class RealFlightProviderTest {
         @Mock
         private FlightProvider fallbackProvider;
 
-        @InjectMocks
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private FlightQuoteCache quoteCache;
         private RealFlightProvider realFlightProvider;
 
+        @BeforeEach
+        void setUp() {
+                quoteCache = new FlightQuoteCache(new SimpleMeterRegistry(), Runnable::run,
+                                new FlightQuoteCacheProperties(Duration.ofHours(6), 0, 1 << 20, null));
+                realFlightProvider = new RealFlightProvider(amadeusApiClient, fallbackProvider, quoteCache,
+                                new QuotePopularity(), CircuitBreakerRegistry.ofDefaults(),
+                                meterRegistry);
+        }
+
         @Test
         void mapsAmadeusPricesToCostRange() {
-                FlightOfferResponse response = new FlightOfferResponse();
-                FlightOfferResponse.Price price1 = new FlightOfferResponse.Price();
-                price1.setGrandTotal("100.00");
-                FlightOfferResponse.FlightOffer offer1 = new FlightOfferResponse.FlightOffer();
-                offer1.setPrice(price1);
-
-                FlightOfferResponse.Price price2 = new FlightOfferResponse.Price();
-                price2.setGrandTotal("250.50");
-                FlightOfferResponse.FlightOffer offer2 = new FlightOfferResponse.FlightOffer();
-                offer2.setPrice(price2);
-
-                response.setData(List.of(offer1, offer2));
-                when(amadeusApiClient.searchFlights(any())).thenReturn(response);
+                when(amadeusApiClient.searchFlightPrices(any())).thenReturn(new FlightPriceSummary(
+                                2, 2, new BigDecimal("100.00"), new BigDecimal("250.50"), "USD", null));
 
                 CostRange range = realFlightProvider.getFlightQuote(
                                 "LON", "PAR", "2026-06-01", "2026-06-05", 2, "FAST", 0.0);
 
-                assertThat(range.getMin()).isEqualTo(new BigDecimal("100.00"));
-                assertThat(range.getMax()).isEqualTo(new BigDecimal("250.50"));
+                assertThat(range.getMin()).isEqualTo(Money.parse("100.00"));
+                assertThat(range.getMax()).isEqualTo(Money.parse("250.50"));
                 assertThat(range.getConfidence()).isEqualTo("HIGH");
 
                 ArgumentCaptor<com.travel.tripcost.provider.amadeus.FlightOfferRequest> requestCaptor = ArgumentCaptor
                                 .forClass(com.travel.tripcost.provider.amadeus.FlightOfferRequest.class);
-                verify(amadeusApiClient).searchFlights(requestCaptor.capture());
+                verify(amadeusApiClient).searchFlightPrices(requestCaptor.capture());
                 assertThat(requestCaptor.getValue().getTravelClass()).isEqualTo("BUSINESS");
         }
 
+        @Test
+        void fallsBackWhenAmadeusPricesInAnotherCurrency() {
+                when(amadeusApiClient.searchFlightPrices(any())).thenReturn(new FlightPriceSummary(
+                                1, 1, new BigDecimal("90.00"), new BigDecimal("90.00"), "EUR", null));
+                CostRange fallbackRange = new CostRange();
+                fallbackRange.setMin(Money.ofMajor(120));
+                fallbackRange.setMax(Money.ofMajor(160));
+                fallbackRange.setConfidence("MEDIUM");
+                when(fallbackProvider.getFlightQuote(any(), any(), any(), any(), anyInt(), any(), anyDouble()))
+                                .thenReturn(fallbackRange);
+
+                CostRange range = realFlightProvider.getFlightQuote(
+                                "LON", "PAR", "2026-06-01", "2026-06-05", 1, "BALANCED", 340.0);
+
+                assertThat(range).isEqualTo(fallbackRange);
+                assertThat(meterRegistry.counter("flight.quotes.fallback", "reason", "search_failed", "served",
+                                "estimate").count()).isEqualTo(1);
+        }
+
         @Test
         void fallbackMethodDelegatesToMockProvider() {
                 CostRange fallbackRange = new CostRange();
-                fallbackRange.setMin(BigDecimal.ONE);
-                fallbackRange.setMax(BigDecimal.TEN);
+                fallbackRange.setMin(Money.ofMajor(1));
+                fallbackRange.setMax(Money.ofMajor(10));
                 fallbackRange.setConfidence("MEDIUM");
                 when(fallbackProvider.getFlightQuote(any(), any(), any(), any(), anyInt(), any(), anyDouble()))
                                 .thenReturn(fallbackRange);
@@ -75,5 +97,28 @@ class RealFlightProviderTest {
 
                 assertThat(result).isEqualTo(fallbackRange);
                 verify(fallbackProvider).getFlightQuote("LON", "PAR", "2026-06-01", "2026-06-05", 1, "BALANCED", 0.0);
+                assertThat(meterRegistry.counter("flight.quotes.fallback", "reason", "search_failed", "served",
+                                "estimate").count()).isEqualTo(1);
+        }
+
+        @Test
+        void fallbackServesLastCachedQuoteFlaggedStale() {
+                CostRange cached = new CostRange();
+                cached.setMin(Money.parse("180.00"));
+                cached.setMax(Money.parse("240.00"));
+                cached.setConfidence("HIGH");
+                quoteCache.get(new FlightQuoteKey("LON", "PAR", "2026-06-01", "2026-06-05", 1, "BALANCED", true),
+                                () -> cached);
+
+                CostRange result = realFlightProvider.fallbackQuote(
+                                "LON", "PAR", "2026-06-01", "2026-06-05", 1, "BALANCED", 0.0,
+                                new RuntimeException("circuit open"));
+
+                assertThat(result.getMin()).isEqualTo(Money.parse("180.00"));
+                assertThat(result.isStale()).isTrue();
+                assertThat(cached.isStale()).isFalse();
+                verifyNoInteractions(fallbackProvider);
+                assertThat(meterRegistry.counter("flight.quotes.fallback", "reason", "search_failed", "served",
+                                "stale").count()).isEqualTo(1);
         }
 }
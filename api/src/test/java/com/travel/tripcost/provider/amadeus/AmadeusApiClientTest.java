@@ -1,6 +1,7 @@
 package com.travel.tripcost.provider.amadeus;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.client.ExpectedCount.once;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
@@ -9,6 +10,10 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 import com.travel.tripcost.config.RestTemplateConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,7 +28,8 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
-@SpringBootTest(classes = { AmadeusApiClient.class, AmadeusTokenService.class, RestTemplateConfig.class })
+@SpringBootTest(classes = { AmadeusApiClient.class, AmadeusTokenService.class, AmadeusRateGovernor.class,
+                RestTemplateConfig.class })
 @SuppressWarnings("null")
 @TestPropertySource(properties = {
                 "amadeus.client.id=testId",
@@ -87,6 +93,64 @@ class AmadeusApiClientTest {
                 server.verify();
         }
 
+        @Test
+        void searchFlightPricesStreamsPriceSummary() {
+                server.expect(once(),
+                                requestTo("https://test.api.amadeus.com/v1/security/oauth2/token"))
+                                .andRespond(withSuccess("{\"access_token\":\"token123\",\"expires_in\":3600}",
+                                                MediaType.APPLICATION_JSON));
+
+                server.expect(once(),
+                                requestTo(org.hamcrest.Matchers.startsWith(
+                                                "https://test.api.amadeus.com/v2/shopping/flight-offers")))
+                                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer token123"))
+                                .andRespond(withSuccess("""
+                                                {
+                                                  "data": [
+                                                    {"price": {"currency": "USD", "grandTotal": "256.00"},
+                                                     "itineraries": [{"duration": "PT7H5M"}]},
+                                                    {"price": {"currency": "USD", "grandTotal": "300.00"},
+                                                     "itineraries": [{"duration": "PT6H50M"}]}
+                                                  ],
+                                                  "dictionaries": {"carriers": {"BA": "BRITISH AIRWAYS"}}
+                                                }
+                                                """, MediaType.APPLICATION_JSON));
+
+                FlightPriceSummary summary = apiClient.searchFlightPrices(FlightOfferRequest.builder()
+                                .originLocationCode("LON")
+                                .destinationLocationCode("NYC")
+                                .departureDate("2026-06-01")
+                                .adults(1)
+                                .build());
+
+                assertThat(summary.min()).isEqualByComparingTo("256.00");
+                assertThat(summary.max()).isEqualByComparingTo("300.00");
+                assertThat(summary.shortestItinerary()).hasMinutes(410);
+                server.verify();
+        }
+
+        @Test
+        void rateLimitedSearchRaisesRateLimitException() {
+                server.expect(once(),
+                                requestTo("https://test.api.amadeus.com/v1/security/oauth2/token"))
+                                .andRespond(withSuccess("{\"access_token\":\"token123\",\"expires_in\":3600}",
+                                                MediaType.APPLICATION_JSON));
+                HttpHeaders retryAfter = new HttpHeaders();
+                retryAfter.add(HttpHeaders.RETRY_AFTER, "0");
+                server.expect(once(),
+                                requestTo(org.hamcrest.Matchers.startsWith(
+                                                "https://test.api.amadeus.com/v2/shopping/flight-offers")))
+                                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+
+                assertThatThrownBy(() -> apiClient.searchFlightPrices(FlightOfferRequest.builder()
+                                .originLocationCode("LON")
+                                .destinationLocationCode("PAR")
+                                .departureDate("2026-06-01")
+                                .adults(1)
+                                .build())).isInstanceOf(AmadeusRateLimitException.class);
+                server.verify();
+        }
+
         @Test
         void refreshesTokenOn401() {
                 // First token fetch
@@ -136,4 +200,43 @@ class AmadeusApiClientTest {
                 assertThat(response.getData().getFirst().getPrice().getGrandTotal()).isEqualTo("123.45");
                 server.verify();
         }
+
+        @Test
+        void searchesShareOneUriTagAcrossRoutes() {
+                MeterRegistry meterRegistry = new SimpleMeterRegistry();
+                ObservationRegistry observationRegistry = ObservationRegistry.create();
+                observationRegistry.observationConfig()
+                                .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+                restTemplate.setObservationRegistry(observationRegistry);
+                try {
+                        server.expect(once(),
+                                        requestTo("https://test.api.amadeus.com/v1/security/oauth2/token"))
+                                        .andRespond(withSuccess("{\"access_token\":\"token123\",\"expires_in\":3600}",
+                                                        MediaType.APPLICATION_JSON));
+                        for (String destination : new String[] { "PAR", "ROM" }) {
+                                server.expect(once(), requestTo("https://test.api.amadeus.com/v2/shopping/flight-offers"
+                                                + "?originLocationCode=LON&destinationLocationCode=" + destination
+                                                + "&departureDate=2026-06-01&adults=1&currencyCode=USD&max=3"))
+                                                .andRespond(withSuccess("{\"data\": []}", MediaType.APPLICATION_JSON));
+                        }
+
+                        for (String destination : new String[] { "PAR", "ROM" }) {
+                                apiClient.searchFlightPrices(FlightOfferRequest.builder()
+                                                .originLocationCode("LON")
+                                                .destinationLocationCode(destination)
+                                                .departureDate("2026-06-01")
+                                                .adults(1)
+                                                .build());
+                        }
+
+                        server.verify();
+                        assertThat(meterRegistry.find("http.client.requests").tag("method", "GET").timers())
+                                        .singleElement()
+                                        .satisfies(timer -> assertThat(timer.getId().getTag("uri"))
+                                                        .doesNotContain("LON", "PAR", "ROM")
+                                                        .contains("{destination}"));
+                } finally {
+                        restTemplate.setObservationRegistry(ObservationRegistry.NOOP);
+                }
+        }
 }
@@ -0,0 +1,104 @@
+package com.travel.tripcost.provider.amadeus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AmadeusRateGovernorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void queuedCallerIsRejectedAfterTimeoutWhenNoSlotFrees() {
+        AmadeusRateGovernor governor = governor(1000, 100, 1, Duration.ofMillis(50));
+
+        try (AmadeusRateGovernor.Permit first = governor.acquire()) {
+            assertThatThrownBy(governor::acquire).isInstanceOf(AmadeusRateLimitException.class);
+        }
+
+        assertThat(meterRegistry.counter("amadeus.governor.rejected").count()).isEqualTo(1);
+        governor.acquire().close(); // Slot is free again
+    }
+
+    @Test
+    void tokenBucketPacesCallsBeyondTheBurst() {
+        AmadeusRateGovernor governor = governor(10, 2, 16, Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            governor.acquire().close();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    void rateLimitHalvesConcurrencyAndHonoursRetryAfter() {
+        AmadeusRateGovernor governor = governor(1000, 100, 4, Duration.ofSeconds(1));
+
+        try (AmadeusRateGovernor.Permit permit = governor.acquire()) {
+            permit.rateLimited(Duration.ofMillis(200));
+        }
+        assertThat(limit()).isEqualTo(2);
+
+        long start = System.nanoTime();
+        governor.acquire().close();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+        assertThat(meterRegistry.counter("amadeus.governor.throttled").count()).isEqualTo(1);
+    }
+
+    @Test
+    void successesProbeTheLimitUpwards() {
+        AmadeusRateGovernor governor = governor(1000, 100, 2, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 3; i++) {
+            try (AmadeusRateGovernor.Permit permit = governor.acquire()) {
+                permit.succeeded();
+            }
+        }
+
+        assertThat(limit()).isEqualTo(3);
+    }
+
+    @Test
+    void spareCapacityAllowsHalfTheLimitInUse() {
+        AmadeusRateGovernor governor = governor(1000, 100, 4, Duration.ofSeconds(1));
+
+        try (AmadeusRateGovernor.Permit first = governor.acquire()) {
+            assertThat(governor.hasSpareCapacity()).isTrue();
+            try (AmadeusRateGovernor.Permit second = governor.acquire()) {
+                assertThat(governor.hasSpareCapacity()).isTrue();
+                try (AmadeusRateGovernor.Permit third = governor.acquire()) {
+                    assertThat(governor.hasSpareCapacity()).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void idleGovernorAtALimitOfOneStillHasSpareCapacity() throws InterruptedException {
+        AmadeusRateGovernor governor = governor(1000, 100, 2, Duration.ofSeconds(1));
+        try (AmadeusRateGovernor.Permit permit = governor.acquire()) {
+            permit.rateLimited(Duration.ZERO);
+        }
+        assertThat(limit()).isEqualTo(1);
+        Thread.sleep(20); // The 429 emptied the token bucket
+
+        assertThat(governor.hasSpareCapacity()).isTrue();
+        try (AmadeusRateGovernor.Permit permit = governor.acquire()) {
+            assertThat(governor.hasSpareCapacity()).isFalse();
+        }
+    }
+
+    private AmadeusRateGovernor governor(double rps, int burst, int concurrency, Duration queueTimeout) {
+        return new AmadeusRateGovernor(meterRegistry, rps, burst, concurrency, 16, queueTimeout,
+                Duration.ofSeconds(1));
+    }
+
+    private double limit() {
+        return meterRegistry.get("amadeus.governor.limit").gauge().value();
+    }
+}
@@ -0,0 +1,122 @@
+package com.travel.tripcost.provider.amadeus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class AmadeusTokenServiceTest {
+
+    private static final String TOKEN_URL = "https://test.api.amadeus.com/v1/security/oauth2/token";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private MockRestServiceServer server;
+    private AmadeusTokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", meterRegistry);
+        tokenService = new AmadeusTokenService(restTemplate, beans.getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(tokenService, "apiUrl", "https://test.api.amadeus.com");
+        ReflectionTestUtils.setField(tokenService, "clientId", "testId");
+        ReflectionTestUtils.setField(tokenService, "clientSecret", "testSecret");
+    }
+
+    @Test
+    void concurrentCallersShareOneFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(TOKEN_URL)).andRespond(request -> {
+            fetching.countDown();
+            await(release);
+            return withSuccess("{\"access_token\":\"token123\",\"expires_in\":1800}", MediaType.APPLICATION_JSON)
+                    .createResponse(request);
+        });
+
+        List<Future<String>> tokens = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                tokens.add(executor.submit(tokenService::getAccessToken));
+            }
+            fetching.await();
+            Thread.sleep(50); // Let the other callers reach the in-flight fetch
+            release.countDown();
+            for (Future<String> token : tokens) {
+                assertThat(token.get()).isEqualTo("token123");
+            }
+        }
+
+        server.verify();
+        assertThat(meterRegistry.get("amadeus.token.refresh").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("amadeus.token.expires.in").gauge().value()).isBetween(1700.0, 1800.0);
+    }
+
+    @Test
+    void repeatedInvalidationForSameTokenFetchesOnce() {
+        server.expect(once(), requestTo(TOKEN_URL))
+                .andRespond(withSuccess("{\"access_token\":\"old\",\"expires_in\":1800}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(TOKEN_URL))
+                .andRespond(withSuccess("{\"access_token\":\"new\",\"expires_in\":1800}", MediaType.APPLICATION_JSON));
+
+        assertThat(tokenService.getAccessToken()).isEqualTo("old");
+        tokenService.invalidateToken("old");
+        assertThat(tokenService.getAccessToken()).isEqualTo("new");
+        // A second 401 for the old token arrives late and must not drop the new one
+        tokenService.invalidateToken("old");
+        assertThat(tokenService.getAccessToken()).isEqualTo("new");
+
+        server.verify();
+    }
+
+    @Test
+    void refreshesAheadOfExpiry() {
+        ReflectionTestUtils.setField(tokenService, "refreshAhead", Duration.ofMinutes(5));
+        server.expect(once(), requestTo(TOKEN_URL))
+                .andRespond(withSuccess("{\"access_token\":\"short\",\"expires_in\":120}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(TOKEN_URL))
+                .andRespond(withSuccess("{\"access_token\":\"long\",\"expires_in\":1800}", MediaType.APPLICATION_JSON));
+
+        assertThat(tokenService.getAccessToken()).isEqualTo("short");
+        tokenService.refreshAhead();
+        tokenService.refreshAhead(); // Now well within validity, no fetch
+
+        assertThat(tokenService.getAccessToken()).isEqualTo("long");
+        server.verify();
+    }
+
+    @Test
+    void idleServiceDoesNotFetchProactively() {
+        tokenService.refreshAhead();
+
+        server.verify();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
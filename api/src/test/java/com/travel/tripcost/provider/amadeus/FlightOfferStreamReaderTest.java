@@ -0,0 +1,60 @@
+package com.travel.tripcost.provider.amadeus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class FlightOfferStreamReaderTest {
+
+    @Test
+    void extractsPricesAndShortestItinerarySkippingEverythingElse() throws IOException {
+        String json = """
+                {
+                  "meta": {"count": 3, "links": {"self": "https://test.api.amadeus.com/v2/shopping/flight-offers"}},
+                  "data": [
+                    {
+                      "type": "flight-offer",
+                      "id": "1",
+                      "itineraries": [
+                        {"duration": "PT2H10M", "segments": [{"departure": {"iataCode": "LHR", "at": "2026-06-01T08:00:00"},
+                                                             "arrival": {"iataCode": "CDG", "at": "2026-06-01T10:10:00"},
+                                                             "carrierCode": "AF", "number": "1081"}]},
+                        {"duration": "PT1H15M", "segments": []}
+                      ],
+                      "price": {"currency": "EUR", "total": "250.00", "grandTotal": "256.00",
+                                "fees": [{"amount": "0.00", "type": "SUPPLIER"}]}
+                    },
+                    {"price": {"currency": "EUR", "grandTotal": 199.5}, "itineraries": [{"duration": "PT3H"}]},
+                    {"type": "flight-offer", "itineraries": [{"duration": "not-a-duration"}]}
+                  ],
+                  "dictionaries": {"carriers": {"AF": "AIR FRANCE"}, "locations": {"CDG": {"cityCode": "PAR"}}}
+                }
+                """;
+
+        FlightPriceSummary summary = read(json);
+
+        assertThat(summary.offers()).isEqualTo(3);
+        assertThat(summary.pricedOffers()).isEqualTo(2);
+        assertThat(summary.min()).isEqualByComparingTo("199.5");
+        assertThat(summary.max()).isEqualByComparingTo("256.00");
+        assertThat(summary.currency()).isEqualTo("EUR");
+        assertThat(summary.shortestItinerary()).isEqualTo(Duration.ofMinutes(75));
+    }
+
+    @Test
+    void emptyResponseHasNoOffers() throws IOException {
+        FlightPriceSummary summary = read("{\"data\": []}");
+
+        assertThat(summary.offers()).isZero();
+        assertThat(summary.min()).isNull();
+        assertThat(summary.shortestItinerary()).isNull();
+    }
+
+    private static FlightPriceSummary read(String json) throws IOException {
+        return FlightOfferStreamReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -49,8 +49,8 @@ class AccommodationEstimatorTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("240.00"), result.getMin());
-        assertEquals(new BigDecimal("390.00"), result.getMax());
+        assertEquals(new BigDecimal("240.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("390.00"), result.getMax().toDecimal());
         assertEquals("HIGH", result.getConfidence());
     }
 
@@ -74,8 +74,8 @@ class AccommodationEstimatorTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("320.00"), result.getMin());
-        assertEquals(new BigDecimal("520.00"), result.getMax());
+        assertEquals(new BigDecimal("320.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("520.00"), result.getMax().toDecimal());
         assertEquals("HIGH", result.getConfidence());
     }
 
@@ -94,8 +94,8 @@ class AccommodationEstimatorTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("80.00"), result.getMin());
-        assertEquals(new BigDecimal("130.00"), result.getMax());
+        assertEquals(new BigDecimal("80.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("130.00"), result.getMax().toDecimal());
         assertEquals("LOW", result.getConfidence());
     }
 }
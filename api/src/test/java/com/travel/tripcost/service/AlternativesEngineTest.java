@@ -0,0 +1,104 @@
+package com.travel.tripcost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.dto.TripResponse;
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+import com.travel.tripcost.service.pipeline.TripContext;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AlternativesEngineTest {
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+
+    private ReferenceSnapshot snapshot;
+    private AlternativesEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        builder.putCity(city("LON", "London", 51.5, -0.13));
+        builder.putCity(city("PAR", "Paris", 48.86, 2.35));
+        builder.putCity(city("REI", "Reims", 49.26, 4.03));
+        builder.putCity(city("ORL", "Orleans", 47.9, 1.9));
+        builder.putCity(city("LYO", "Lyon", 45.76, 4.84));
+        builder.putCity(city("NYC", "New York", 40.71, -74.0));
+        builder.putCosts(costs("PAR", "200.00", "60.00"));
+        builder.putCosts(costs("REI", "100.00", "40.00"));
+        builder.putCosts(costs("ORL", "120.00", "45.00"));
+        builder.putCosts(costs("LYO", "90.00", "35.00")); // Cheaper, but outside the radius
+        builder.putCosts(costs("NYC", "50.00", "20.00"));
+        snapshot = builder.build();
+        when(referenceData.current()).thenReturn(snapshot);
+
+        engine = new AlternativesEngine(referenceData, new AccommodationEstimator(null), new FoodEstimator(null));
+        ReflectionTestUtils.setField(engine, "maxRadiusKm", 200.0);
+        engine.buildOnStartup();
+    }
+
+    @Test
+    void returnsNearbyCheaperCitiesLargestSavingFirst() {
+        List<TripResponse.Alternative> alternatives = engine.find(context("LON", "PAR"));
+
+        assertThat(alternatives).extracting(TripResponse.Alternative::getCityName)
+                .containsExactly("Reims", "Orleans");
+        assertThat(alternatives.get(0).getEstimatedSaving().signum()).isPositive();
+        assertThat(alternatives.get(0).getEstimatedSaving())
+                .isGreaterThan(alternatives.get(1).getEstimatedSaving());
+    }
+
+    @Test
+    void returnsNothingWhenNoNearbyCityIsCheaper() {
+        assertThat(engine.find(context("LON", "REI"))).isEmpty();
+    }
+
+    @Test
+    void returnsNothingWhenTheDestinationHasNoCostData() {
+        ReferenceSnapshot.Builder builder = snapshot.toBuilder();
+        builder.putCity(city("EPE", "Epernay", 49.04, 3.96));
+        builder.putCity(city("CHA", "Chalons", 48.96, 4.36));
+        builder.putCosts(costs("CHA", "10.00", "5.00"));
+        snapshot = builder.build();
+        engine.onReferenceDataRefreshed(new ReferenceDataRefreshedEvent(snapshot));
+
+        assertThat(engine.find(context("LON", "EPE"))).isEmpty();
+    }
+
+    private TripContext context(String originId, String destId) {
+        TripRequest request = new TripRequest();
+        request.setOriginCityId(originId);
+        request.setDestinationCityId(destId);
+        request.setStartDate(LocalDate.of(2030, 1, 1));
+        request.setEndDate(LocalDate.of(2030, 1, 4));
+        request.setTravellers(2);
+        request.setPreference("BALANCED");
+        return new TripContext(request, snapshot.find(originId), snapshot.find(destId),
+                snapshot.costs(snapshot.indexOf(destId)), 3, 4, 0.0);
+    }
+
+    private static CityRow city(String id, String name, double lat, double lon) {
+        return new CityRow(id, name, "XX", null, lat, lon, Instant.EPOCH);
+    }
+
+    private static CostIndexRow costs(String cityId, String accommodation, String food) {
+        return new CostIndexRow(cityId, new BigDecimal(accommodation), new BigDecimal(accommodation),
+                new BigDecimal(food), BigDecimal.TEN, Instant.EPOCH);
+    }
+}
@@ -47,8 +47,8 @@ class FoodEstimatorTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("800.00"), result.getMin());
-        assertEquals(new BigDecimal("1300.00"), result.getMax());
+        assertEquals(new BigDecimal("800.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("1300.00"), result.getMax().toDecimal());
         assertEquals("HIGH", result.getConfidence());
     }
 
@@ -66,8 +66,8 @@ class FoodEstimatorTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("32.00"), result.getMin());
-        assertEquals(new BigDecimal("52.00"), result.getMax());
+        assertEquals(new BigDecimal("32.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("52.00"), result.getMax().toDecimal());
         assertEquals("LOW", result.getConfidence());
     }
 }
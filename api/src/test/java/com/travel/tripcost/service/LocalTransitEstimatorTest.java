@@ -0,0 +1,46 @@
+package com.travel.tripcost.service;
+
+import com.travel.tripcost.service.reference.CityCosts;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTransitEstimatorTest {
+
+    private final LocalTransitEstimator localTransitEstimator = new LocalTransitEstimator();
+
+    @Test
+    void estimate_ShouldApplyMultipliers_WhenCostsFound() {
+        // Given
+        CityCosts costs = new CityCosts("berlin", 5000, 10000, 4000, 1000);
+
+        // When
+        // 10 * 4 days * 2 travellers = 80 base
+        // Min = 80 * 0.8 = 64
+        // Max = 80 * 1.3 = 104
+        CostRange result = localTransitEstimator.estimate(costs, 4, 2);
+
+        // Then
+        assertEquals(new BigDecimal("64.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("104.00"), result.getMax().toDecimal());
+        assertEquals("HIGH", result.getConfidence());
+    }
+
+    @Test
+    void estimate_ShouldUseFallback_WhenTransitCostMissing() {
+        // Given
+        CityCosts costs = new CityCosts("berlin", 5000, 10000, 4000, CityCosts.MISSING);
+
+        // When
+        // Fallback is 10.00 -> 10 * 1 day * 1 traveller = 10 base
+        CostRange result = localTransitEstimator.estimate(costs, 1, 1);
+
+        // Then
+        assertEquals(new BigDecimal("8.00"), result.getMin().toDecimal());
+        assertEquals(new BigDecimal("13.00"), result.getMax().toDecimal());
+        assertEquals("LOW", result.getConfidence());
+    }
+}
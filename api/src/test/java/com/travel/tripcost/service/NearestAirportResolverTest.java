@@ -0,0 +1,68 @@
+package com.travel.tripcost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class NearestAirportResolverTest {
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+
+    private ReferenceSnapshot snapshot;
+    private NearestAirportResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        builder.putCity(new CityRow("PAR", "Paris", "FR", "CDG", 48.86, 2.35, Instant.EPOCH));
+        builder.putCity(new CityRow("LYS", "Lyon", "FR", "LYS", 45.76, 4.84, Instant.EPOCH));
+        builder.putCity(new CityRow("REI", "Reims", "FR", null, 49.26, 4.03, Instant.EPOCH));
+        builder.putCity(new CityRow("ANN", "Annecy", "FR", "", 45.9, 6.13, Instant.EPOCH));
+        builder.putCity(new CityRow("REY", "Reykjavik", "IS", null, 64.15, -21.94, Instant.EPOCH));
+        snapshot = builder.build();
+        when(referenceData.current()).thenReturn(snapshot);
+
+        resolver = new NearestAirportResolver(referenceData);
+        ReflectionTestUtils.setField(resolver, "maxRadiusKm", 250.0);
+        resolver.buildOnStartup();
+    }
+
+    @Test
+    void cityWithIataCodeIsItsOwnAirport() {
+        Optional<NearestAirportResolver.Airport> airport = resolver.resolve(snapshot.find("PAR"));
+
+        assertThat(airport).hasValueSatisfying(a -> {
+            assertThat(a.city().iataCode()).isEqualTo("CDG");
+            assertThat(a.needsGroundLeg()).isFalse();
+        });
+    }
+
+    @Test
+    void cityWithoutIataCodeUsesNearestAirport() {
+        assertThat(resolver.resolve(snapshot.find("REI"))).hasValueSatisfying(a -> {
+            assertThat(a.city().iataCode()).isEqualTo("CDG");
+            assertThat(a.groundKm()).isCloseTo(130, within(10.0));
+        });
+        assertThat(resolver.resolve(snapshot.find("ANN")))
+                .hasValueSatisfying(a -> assertThat(a.city().iataCode()).isEqualTo("LYS"));
+    }
+
+    @Test
+    void noAirportWithinRadius() {
+        assertThat(resolver.resolve(snapshot.find("REY"))).isEmpty();
+    }
+}
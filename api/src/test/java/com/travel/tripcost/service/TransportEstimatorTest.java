@@ -0,0 +1,91 @@
+package com.travel.tripcost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.service.GroundTransportProperties.Fare;
+import com.travel.tripcost.service.GroundTransportProperties.Mode;
+import com.travel.tripcost.service.GroundTransportProperties.Region;
+import com.travel.tripcost.service.TransportEstimator.GroundRoute;
+import com.travel.tripcost.service.reference.CityRef;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class TransportEstimatorTest {
+
+    private static final CityRef LONDON = city(0, "United Kingdom");
+    private static final CityRef MANCHESTER = city(1, "United Kingdom");
+    private static final CityRef TORONTO = city(2, "Canada");
+
+    // Road factor 1 and round numbers keep the fares easy to follow
+    private final TransportEstimator estimator = new TransportEstimator(new GroundTransportProperties(1.0, 20,
+            Map.of("cheap", 600.0, "balanced", 400.0, "fast", 250.0),
+            List.of(
+                    new Region("europe", List.of("United Kingdom"), Map.of(
+                            Mode.RAIL, new Fare(10, 0.20, 150, 1000, 0),
+                            Mode.BUS, new Fare(5, 0.05, 60, 1000, 0),
+                            Mode.CAR, new Fare(0, 0.30, 100, 800, 4))),
+                    new Region("default", List.of(), Map.of(
+                            Mode.BUS, new Fare(5, 0.10, 60, 300, 0))))));
+
+    @Test
+    void flyingThresholdDependsOnPreference() {
+        assertThat(estimator.flyingPlausible(300, "CHEAP")).isFalse();
+        assertThat(estimator.flyingPlausible(300, "BALANCED")).isFalse();
+        assertThat(estimator.flyingPlausible(300, "FAST")).isTrue();
+    }
+
+    @Test
+    void preferencePicksTheGroundMode() {
+        // 300 km: rail 70.00 and 2h, bus 20.00 and 5h, car 90.00 per vehicle and 3h
+        assertThat(route(LONDON, MANCHESTER, 1, "CHEAP").mode()).isEqualTo(Mode.BUS);
+        assertThat(route(LONDON, MANCHESTER, 1, "FAST").mode()).isEqualTo(Mode.RAIL);
+
+        GroundRoute balanced = route(LONDON, MANCHESTER, 1, "BALANCED");
+        assertThat(balanced.mode()).isEqualTo(Mode.RAIL);
+        // Round trip of 140.00, with the usual 0.8x / 1.3x spread
+        assertThat(balanced.cost().getMin()).isEqualTo(Money.parse("112.00"));
+        assertThat(balanced.cost().getMax()).isEqualTo(Money.parse("182.00"));
+    }
+
+    @Test
+    void carIsPricedPerVehicle() {
+        // Four travellers share one car at 90.00 instead of paying 70.00 each for rail
+        GroundRoute route = route(LONDON, MANCHESTER, 4, "BALANCED");
+
+        assertThat(route.mode()).isEqualTo(Mode.CAR);
+        assertThat(route.cost().getMin()).isEqualTo(Money.parse("144.00"));
+    }
+
+    @Test
+    void citiesInDifferentRegionsUseTheDefaultFares() {
+        assertThat(route(LONDON, TORONTO, 1, "CHEAP").mode()).isEqualTo(Mode.BUS);
+        assertThat(estimator.groundRoute(LONDON, TORONTO, 350, 1, "CHEAP")).isEmpty();
+    }
+
+    @Test
+    void airportTransfersUseTheRegionalFares() {
+        // 30 km by bus: 6.50 each way
+        assertThat(estimator.groundTransfer(LONDON, MANCHESTER, 30, 1, "CHEAP").getMin())
+                .isEqualTo(Money.parse("10.40"));
+    }
+
+    @Test
+    void transfersLongerThanEveryModeAreStillPriced() {
+        // Beyond the default bus's 300 km, but the leg has to be travelled anyway: 40.00 each way
+        assertThat(estimator.groundTransfer(LONDON, TORONTO, 350, 1, "CHEAP").getMin())
+                .isEqualTo(Money.parse("64.00"));
+    }
+
+    private GroundRoute route(CityRef origin, CityRef destination, int travellers, String preference) {
+        Optional<GroundRoute> route = estimator.groundRoute(origin, destination, 300, travellers, preference);
+        assertThat(route).isPresent();
+        return route.get();
+    }
+
+    private static CityRef city(int index, String country) {
+        return new CityRef(index, "city-" + index, "City " + index, country, null, 0, 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.travel.tripcost.service.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.travel.tripcost.service.DistanceService;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DistanceKernelTest {
+
+    // Odd size so the vector kernel also runs its scalar tail
+    private static final int CITIES = 1001;
+
+    private final DistanceService distanceService = new DistanceService();
+    private final double[] lats = new double[CITIES];
+    private final double[] lons = new double[CITIES];
+    private final UnitVectors cities;
+
+    DistanceKernelTest() {
+        Random random = new Random(7);
+        for (int i = 0; i < CITIES; i++) {
+            lats[i] = random.nextDouble() * 180 - 90;
+            lons[i] = random.nextDouble() * 360 - 180;
+        }
+        // A city without coordinates never matches
+        lats[5] = Double.NaN;
+        lons[5] = Double.NaN;
+        cities = UnitVectors.of(lats, lons);
+    }
+
+    @Test
+    void preferredKernelIsVectorizedWhenTheModuleIsLoaded() {
+        // Surefire adds the incubator module, so tests exercise the Vector API path
+        assertThat(DistanceKernel.vectorized())
+                .isEqualTo(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+    }
+
+    @Test
+    void bulkDistancesMatchHaversine() {
+        for (DistanceKernel kernel : new DistanceKernel[] { DistanceKernel.scalar(), DistanceKernel.preferred() }) {
+            double[] out = new double[CITIES];
+            kernel.distancesKm(cities, cities.x(0), cities.y(0), cities.z(0), out);
+
+            for (int i = 0; i < CITIES; i++) {
+                if (i == 5) {
+                    assertThat(out[i]).isNaN();
+                } else {
+                    assertThat(out[i]).isCloseTo(
+                            distanceService.calculateDistanceKm(lats[0], lons[0], lats[i], lons[i]), within(1e-6));
+                }
+            }
+        }
+    }
+
+    @Test
+    void withinReturnsIndexesInRangeInOrder() {
+        double[] reference = new double[CITIES];
+        DistanceKernel.scalar().distancesKm(cities, cities.x(3), cities.y(3), cities.z(3), reference);
+        int[] expected = IntStream.range(0, CITIES).filter(i -> reference[i] <= 2500).toArray();
+
+        for (DistanceKernel kernel : new DistanceKernel[] { DistanceKernel.scalar(), DistanceKernel.preferred() }) {
+            int[] out = new int[CITIES];
+            int count = kernel.within(cities, cities.x(3), cities.y(3), cities.z(3), 2500, out);
+
+            assertThat(IntStream.of(out).limit(count).toArray()).containsExactly(expected);
+        }
+        assertThat(cities.withinKm(cities.x(3), cities.y(3), cities.z(3), 2500)).contains(3).doesNotContain(5);
+    }
+}
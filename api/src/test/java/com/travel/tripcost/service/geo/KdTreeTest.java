@@ -0,0 +1,74 @@
+package com.travel.tripcost.service.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class KdTreeTest {
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(42);
+        int n = 2000;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        int[] ids = new int[n];
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = random.nextDouble() * 180 - 90;
+            lons[i] = random.nextDouble() * 360 - 180;
+            ids[i] = i;
+            xs[i] = GeoMath.x(lats[i], lons[i]);
+            ys[i] = GeoMath.y(lats[i], lons[i]);
+            zs[i] = GeoMath.z(lats[i]);
+        }
+        double[] qx = xs.clone();
+        double[] qy = ys.clone();
+        double[] qz = zs.clone();
+        KdTree tree = KdTree.of(ids.clone(), xs.clone(), ys.clone(), zs.clone());
+
+        for (int query = 0; query < 50; query++) {
+            int from = random.nextInt(n);
+            int[] expected = IntStream.range(0, n)
+                    .filter(i -> i != from && i % 3 != 0)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(i -> chord(qx, qy, qz, from, i)))
+                    .limit(8)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            int[] actual = tree.nearest(qx[from], qy[from], qz[from], 8, 2.0, i -> i != from && i % 3 != 0);
+
+            assertThat(actual).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void respectsMaxDistance() {
+        // London, Paris and New York
+        double[][] cities = { { 51.5, -0.13 }, { 48.86, 2.35 }, { 40.71, -74.0 } };
+        int[] ids = { 0, 1, 2 };
+        double[] xs = Arrays.stream(cities).mapToDouble(c -> GeoMath.x(c[0], c[1])).toArray();
+        double[] ys = Arrays.stream(cities).mapToDouble(c -> GeoMath.y(c[0], c[1])).toArray();
+        double[] zs = Arrays.stream(cities).mapToDouble(c -> GeoMath.z(c[0])).toArray();
+        KdTree tree = KdTree.of(ids, xs, ys, zs);
+
+        int[] nearLondon = tree.nearest(GeoMath.x(51.5, -0.13), GeoMath.y(51.5, -0.13), GeoMath.z(51.5), 5,
+                GeoMath.kmToChord(500), i -> true);
+
+        assertThat(nearLondon).containsExactly(0, 1);
+    }
+
+    private static double chord(double[] xs, double[] ys, double[] zs, int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        double dz = zs[a] - zs[b];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,96 @@
+package com.travel.tripcost.service.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CostPipelineTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void runsComponentsConcurrently() {
+        CostPipeline pipeline = new CostPipeline(
+                List.of(slow("transport", 300), slow("accommodation", 300), slow("food", 300)), executor,
+                new StageTimers(meterRegistry));
+
+        long started = System.nanoTime();
+        Map<String, CostRange> results = pipeline.run(null);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(results).containsOnlyKeys("transport", "accommodation", "food");
+        // Sequential execution would take ~900ms
+        assertThat(elapsedMs).isLessThan(700);
+        assertThat(meterRegistry.timer("trip.estimate.stage", "stage", "transport").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rethrowsComponentFailureUnwrapped() {
+        CostComponent failing = new StubComponent("transport", 0) {
+            @Override
+            public CostRange estimate(TripContext context) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        CostPipeline pipeline = new CostPipeline(List.of(failing), executor,
+                new StageTimers(meterRegistry));
+
+        assertThatThrownBy(() -> pipeline.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    private static CostComponent slow(String name, long delayMs) {
+        return new StubComponent(name, delayMs);
+    }
+
+    private static class StubComponent implements CostComponent {
+        private final String name;
+        private final long delayMs;
+
+        StubComponent(String name, long delayMs) {
+            this.name = name;
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Set<TripInput> inputs() {
+            return Set.of();
+        }
+
+        @Override
+        public CostRange estimate(TripContext context) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CostRange range = new CostRange();
+            range.setMin(Money.ofMajor(1));
+            range.setMax(Money.ofMajor(10));
+            range.setConfidence("HIGH");
+            return range;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.travel.tripcost.service.reference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+
+    private static final Instant LOADED = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private CostIndexRepository costIndexRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ReferenceDataRegistry(cityRepository, costIndexRepository, eventPublisher);
+        when(cityRepository.findAllRows()).thenReturn(List.of(
+                city("LON", "London", "LHR", LOADED),
+                city("PAR", "Paris", "CDG", LOADED)));
+        when(costIndexRepository.findAllRows()).thenReturn(List.of(costs("PAR", "80.00", LOADED)));
+        registry.reload();
+    }
+
+    @Test
+    void reloadInternsCitiesAndCosts() {
+        ReferenceSnapshot snapshot = registry.current();
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.find("PAR").iataCode()).isEqualTo("CDG");
+        assertThat(snapshot.costs(snapshot.indexOf("PAR")).accommodationMid()).isEqualTo(8000);
+        assertThat(snapshot.costs(snapshot.indexOf("LON"))).isNull();
+        assertThat(snapshot.find("NOPE")).isNull();
+    }
+
+    @Test
+    void refreshAppliesChangedRowsAndKeepsIndexes() {
+        Instant later = LOADED.plusSeconds(3600);
+        int parisIndex = registry.current().indexOf("PAR");
+        when(cityRepository.findRowsUpdatedAfter(any())).thenReturn(List.of(city("BER", "Berlin", "BER", later)));
+        when(costIndexRepository.findRowsUpdatedAfter(any())).thenReturn(List.of(costs("PAR", "95.00", later)));
+        when(cityRepository.count()).thenReturn(3L);
+        when(costIndexRepository.count()).thenReturn(1L);
+
+        registry.refresh();
+
+        ReferenceSnapshot snapshot = registry.current();
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.indexOf("PAR")).isEqualTo(parisIndex);
+        assertThat(snapshot.costs(parisIndex).accommodationMid()).isEqualTo(9500);
+        assertThat(snapshot.citiesWatermark()).isEqualTo(later);
+        verify(cityRepository, times(1)).findAllRows();
+    }
+
+    @Test
+    void refreshKeepsSnapshotWhenNothingChanged() {
+        ReferenceSnapshot before = registry.current();
+        when(cityRepository.findRowsUpdatedAfter(any())).thenReturn(List.of(city("LON", "London", "LHR", LOADED)));
+        when(costIndexRepository.findRowsUpdatedAfter(any())).thenReturn(List.of());
+        when(cityRepository.count()).thenReturn(2L);
+        when(costIndexRepository.count()).thenReturn(1L);
+
+        registry.refresh();
+
+        assertThat(registry.current()).isSameAs(before);
+    }
+
+    @Test
+    void refreshReloadsWhenRowsWereDeleted() {
+        when(cityRepository.findRowsUpdatedAfter(any())).thenReturn(List.of());
+        when(costIndexRepository.findRowsUpdatedAfter(any())).thenReturn(List.of());
+        when(cityRepository.count()).thenReturn(1L);
+        when(cityRepository.findAllRows()).thenReturn(List.of(city("LON", "London", "LHR", LOADED)));
+        when(costIndexRepository.findAllRows()).thenReturn(List.of());
+
+        registry.refresh();
+
+        assertThat(registry.current().size()).isEqualTo(1);
+        assertThat(registry.current().find("PAR")).isNull();
+        verify(costIndexRepository, never()).count();
+    }
+
+    private static CityRow city(String id, String name, String iata, Instant updatedAt) {
+        return new CityRow(id, name, "XX", iata, 48.0, 2.0, updatedAt);
+    }
+
+    private static CostIndexRow costs(String cityId, String accommodationMid, Instant updatedAt) {
+        return new CostIndexRow(cityId, new BigDecimal("50.00"), new BigDecimal(accommodationMid),
+                new BigDecimal("40.00"), new BigDecimal("10.00"), updatedAt);
+    }
+}
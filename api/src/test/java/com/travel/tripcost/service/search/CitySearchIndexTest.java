@@ -0,0 +1,133 @@
+package com.travel.tripcost.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.travel.tripcost.dto.CitySearchResult;
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CitySearchIndexTest {
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    private CitySearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        builder.putCity(city("1", "São Paulo", "Brazil", "GRU"));
+        builder.putCity(city("2", "Paris", "France", "CDG"));
+        builder.putCity(city("3", "Parintins", "Brazil", null));
+        builder.putCity(city("4", "Saint-Paul", "Reunion", null));
+        builder.putCity(city("5", "New York", "United States", "JFK"));
+        builder.putCosts(new CostIndexRow("2", BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN,
+                Instant.EPOCH));
+        when(referenceData.current()).thenReturn(builder.build());
+
+        index = new CitySearchIndex(referenceData, cityRepository);
+        index.buildOnStartup();
+    }
+
+    @Test
+    void matchesAccentFoldedNamePrefixes() {
+        assertThat(ids(index.search("sao pa", 10))).containsExactly("1");
+        assertThat(ids(index.search("SÃO", 10))).containsExactly("1");
+    }
+
+    @Test
+    void ranksCitiesWithAirportAndCostsFirst() {
+        assertThat(ids(index.search("par", 10))).containsExactly("2", "3");
+    }
+
+    @Test
+    void matchesLaterNameWordsCountriesAndIataCodes() {
+        assertThat(ids(index.search("york", 10))).containsExactly("5");
+        assertThat(ids(index.search("paul", 10))).containsExactly("4", "1");
+        assertThat(ids(index.search("brazil", 10))).containsExactlyInAnyOrder("1", "3");
+        assertThat(ids(index.search("jfk", 10))).containsExactly("5");
+    }
+
+    @Test
+    void largeCountriesDoNotCrowdOutNameMatches() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.putCity(city("in-" + i, "Town " + i, "India", null));
+        }
+        builder.putCity(city("ibk", "Innsbruck", "Austria", "INN"));
+        ReflectionTestUtils.setField(index, "maxScan", 5);
+        index.onReferenceDataRefreshed(new ReferenceDataRefreshedEvent(builder.build()));
+
+        List<String> found = ids(index.search("in", 3));
+        assertThat(found).hasSize(3).startsWith("ibk");
+    }
+
+    @Test
+    void blankIataCodesDoNotCountAsAirports() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        builder.putCity(city("lyss", "Lyss", "Switzerland", null));
+        builder.putCity(city("lyon", "Lyon", "France", " "));
+        index.onReferenceDataRefreshed(new ReferenceDataRefreshedEvent(builder.build()));
+
+        assertThat(ids(index.search("ly", 10))).containsExactly("lyss", "lyon");
+    }
+
+    @Test
+    void flagsCitiesWithCostData() {
+        assertThat(index.search("par", 10)).extracting(CitySearchResult::hasCostData).containsExactly(true, false);
+        verifyNoInteractions(cityRepository);
+    }
+
+    @Test
+    void searchesTheDatabaseUntilReferenceDataLoads() {
+        index.onReferenceDataRefreshed(new ReferenceDataRefreshedEvent(ReferenceSnapshot.empty()));
+        List<CitySearchResult> rows = List.of(new CitySearchResult("7", "50% Town", "Nowhere", null, false));
+        when(cityRepository.searchByNamePrefix("50\\%", PageRequest.of(0, 10))).thenReturn(rows);
+
+        assertThat(index.search(" 50% ", 10)).isEqualTo(rows);
+    }
+
+    @Test
+    void limitsResults() {
+        assertThat(index.search("pa", 1)).hasSize(1);
+    }
+
+    @Test
+    void rebuildsWhenReferenceDataChanges() {
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        builder.putCity(city("9", "Porto", "Portugal", "OPO"));
+        assertThat(index.search("por", 10)).isEmpty();
+
+        index.onReferenceDataRefreshed(new ReferenceDataRefreshedEvent(builder.build()));
+
+        assertThat(ids(index.search("por", 10))).containsExactly("9");
+    }
+
+    private static List<String> ids(List<CitySearchResult> results) {
+        return results.stream().map(CitySearchResult::id).toList();
+    }
+
+    private static CityRow city(String id, String name, String country, String iata) {
+        return new CityRow(id, name, country, iata, 0.0, 0.0, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,99 @@
+package com.travel.tripcost.service.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class HeavyHittersTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+    private final HeavyHitters hitters = new HeavyHitters(3, 256, 4, Duration.ofMinutes(1), 60, clock);
+
+    @Test
+    void findsFrequentKeysAmongNoise() {
+        for (int i = 0; i < 500; i++) {
+            hitters.record("LON->PAR");
+            if (i % 2 == 0) {
+                hitters.record("NYC->MIA");
+            }
+            if (i % 5 == 0) {
+                hitters.record("BER->ROM");
+            }
+            hitters.record("noise-" + i);
+        }
+
+        List<HeavyHitters.Entry> top = hitters.top(Duration.ofMinutes(1));
+
+        assertThat(top).extracting(HeavyHitters.Entry::key).containsExactly("LON->PAR", "NYC->MIA", "BER->ROM");
+        // Count-Min estimates never undercount
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(500);
+        assertThat(top.get(1).count()).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    void windowsOnlyCoverRecentSlots() {
+        for (int i = 0; i < 10; i++) {
+            hitters.record("old");
+        }
+        clock.advance(Duration.ofMinutes(5));
+        hitters.record("new");
+
+        assertThat(hitters.top(Duration.ofMinutes(1))).extracting(HeavyHitters.Entry::key).containsExactly("new");
+        assertThat(hitters.top(Duration.ofMinutes(15))).extracting(HeavyHitters.Entry::key)
+                .containsExactly("old", "new");
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(hitters.top(Duration.ofHours(1))).isEmpty();
+    }
+
+    @Test
+    void concurrentRecordingCountsEveryHit() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        hitters.record("hot");
+                    }
+                });
+            }
+        }
+
+        assertThat(hitters.top(Duration.ofMinutes(1)).get(0)).isEqualTo(new HeavyHitters.Entry("hot", 8000));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
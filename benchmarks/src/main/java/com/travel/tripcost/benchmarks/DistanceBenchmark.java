@@ -0,0 +1,141 @@
+package com.travel.tripcost.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.travel.tripcost.service.DistanceService;
+import com.travel.tripcost.service.geo.DistanceKernel;
+import com.travel.tripcost.service.geo.UnitVectors;
+import com.travel.tripcost.service.reference.CityRef;
+
+/**
+ * Single-pair distances by haversine and by precomputed unit vectors, and
+ * one-to-many scans over {@code cities} random points: a haversine loop
+ * against the scalar and Vector API kernels, for all distances and for the
+ * cities within {@code radiusKm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class DistanceBenchmark {
+
+    @Param({ "40000" })
+    private int cities;
+
+    @Param({ "300" })
+    private double radiusKm;
+
+    private final DistanceService distanceService = new DistanceService();
+
+    // Coordinates in arrays so the JIT can't fold the call into a constant
+    private double[] lats;
+    private double[] lons;
+    private CityRef[] refs;
+    private UnitVectors vectors;
+    private double[] distances;
+    private int[] found;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lats = new double[cities];
+        lons = new double[cities];
+        refs = new CityRef[cities];
+        for (int i = 0; i < cities; i++) {
+            lats[i] = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            lons[i] = random.nextDouble() * 360 - 180;
+            refs[i] = new CityRef(i, "city-" + i, "City " + i, "XX", null, lats[i], lons[i]);
+        }
+        vectors = UnitVectors.of(lats, lons);
+        distances = new double[cities];
+        found = new int[cities];
+    }
+
+    @Benchmark
+    public double calculateDistanceKm() {
+        int i = next;
+        int j = (i + 997) % lats.length;
+        next = (i + 1) % lats.length;
+        return distanceService.calculateDistanceKm(lats[i], lons[i], lats[j], lons[j]);
+    }
+
+    @Benchmark
+    public double unitVectorDistanceKm() {
+        int i = next;
+        int j = (i + 997) % refs.length;
+        next = (i + 1) % refs.length;
+        return distanceService.distanceKm(refs[i], refs[j]);
+    }
+
+    @Benchmark
+    public double[] haversineOneToMany() {
+        int from = nextQuery();
+        for (int i = 0; i < cities; i++) {
+            distances[i] = distanceService.calculateDistanceKm(lats[from], lons[from], lats[i], lons[i]);
+        }
+        return distances;
+    }
+
+    @Benchmark
+    public double[] scalarOneToMany() {
+        int from = nextQuery();
+        DistanceKernel.scalar().distancesKm(vectors, vectors.x(from), vectors.y(from), vectors.z(from), distances);
+        return distances;
+    }
+
+    @Benchmark
+    public double[] vectorOneToMany() {
+        int from = nextQuery();
+        DistanceKernel.preferred().distancesKm(vectors, vectors.x(from), vectors.y(from), vectors.z(from),
+                distances);
+        return distances;
+    }
+
+    @Benchmark
+    public int haversineWithin() {
+        int from = nextQuery();
+        int count = 0;
+        for (int i = 0; i < cities; i++) {
+            if (distanceService.calculateDistanceKm(lats[from], lons[from], lats[i], lons[i]) <= radiusKm) {
+                found[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int scalarWithin() {
+        int from = nextQuery();
+        return DistanceKernel.scalar().within(vectors, vectors.x(from), vectors.y(from), vectors.z(from), radiusKm,
+                found);
+    }
+
+    @Benchmark
+    public int vectorWithin() {
+        int from = nextQuery();
+        return DistanceKernel.preferred().within(vectors, vectors.x(from), vectors.y(from), vectors.z(from),
+                radiusKm, found);
+    }
+
+    private int nextQuery() {
+        int from = next;
+        next = (from + 1) % cities;
+        return from;
+    }
+}
@@ -0,0 +1,100 @@
+package com.travel.tripcost.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.service.AccommodationEstimator;
+import com.travel.tripcost.service.FoodEstimator;
+import com.travel.tripcost.service.GroundTransportProperties;
+import com.travel.tripcost.service.TransportEstimator;
+import com.travel.tripcost.service.reference.CityCosts;
+import com.travel.tripcost.service.reference.ReferenceSnapshot;
+
+/**
+ * The per-component estimators, both through their repository lookup and from
+ * costs already loaded into the reference snapshot, which is what the pipeline
+ * uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstimatorBenchmark {
+
+    @Param({ "CHEAP", "BALANCED", "FAST" })
+    public String preference;
+
+    private AccommodationEstimator accommodationEstimator;
+    private FoodEstimator foodEstimator;
+    private final TransportEstimator transportEstimator = new TransportEstimator(
+            new GroundTransportProperties(1.3, 15, null, null));
+
+    private String[] cityIds;
+    private CityCosts[] costs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = new Fixtures();
+        CostIndexRepository repository = fixtures.costIndexRepository();
+        accommodationEstimator = new AccommodationEstimator(repository);
+        foodEstimator = new FoodEstimator(repository);
+
+        ReferenceSnapshot.Builder builder = ReferenceSnapshot.builder();
+        fixtures.cities.forEach(builder::putCity);
+        fixtures.costs.forEach(builder::putCosts);
+        ReferenceSnapshot snapshot = builder.build();
+        cityIds = new String[snapshot.size()];
+        costs = new CityCosts[snapshot.size()];
+        for (int i = 0; i < snapshot.size(); i++) {
+            cityIds[i] = snapshot.id(i);
+            costs[i] = snapshot.costs(i);
+        }
+    }
+
+    private int nextCity() {
+        int i = next;
+        next = (i + 1) % cityIds.length;
+        return i;
+    }
+
+    @Benchmark
+    public CostRange accommodationFromRepository() {
+        return accommodationEstimator.estimate(cityIds[nextCity()], 7, preference);
+    }
+
+    @Benchmark
+    public CostRange accommodationFromSnapshot() {
+        return accommodationEstimator.estimate(costs[nextCity()], 7, preference);
+    }
+
+    @Benchmark
+    public CostRange foodFromRepository() {
+        return foodEstimator.estimate(cityIds[nextCity()], 8, 2);
+    }
+
+    @Benchmark
+    public CostRange foodFromSnapshot() {
+        return foodEstimator.estimate(costs[nextCity()], 8, 2);
+    }
+
+    @Benchmark
+    public CostRange transportCostRange() {
+        return transportEstimator.costRange(150 + nextCity(), 2, preference);
+    }
+}
@@ -0,0 +1,92 @@
+package com.travel.tripcost.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.travel.tripcost.domain.CostIndex;
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.repository.CityRepository;
+import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.repository.projection.CityRow;
+import com.travel.tripcost.repository.projection.CostIndexRow;
+
+/**
+ * Synthetic reference data shared by the benchmarks: a grid of cities over
+ * Europe, every third one with an airport and all but every tenth with cost
+ * data, served from in-memory repositories.
+ */
+final class Fixtures {
+
+    static final int CITIES = 2_000;
+    private static final Instant UPDATED = Instant.parse("2030-01-01T00:00:00Z");
+
+    final List<CityRow> cities = new ArrayList<>();
+    final List<CostIndexRow> costs = new ArrayList<>();
+
+    Fixtures() {
+        for (int i = 0; i < CITIES; i++) {
+            String id = "city-" + i;
+            double lat = 36 + (i / 50) * 0.5;
+            double lon = -9 + (i % 50) * 0.8;
+            String iata = i % 3 == 0 ? iata(i) : null;
+            cities.add(new CityRow(id, "City " + i, "XX", iata, lat, lon, UPDATED));
+            if (i % 10 != 0) {
+                BigDecimal acc = BigDecimal.valueOf(40 + i % 120);
+                costs.add(new CostIndexRow(id, acc, acc.multiply(BigDecimal.valueOf(2)),
+                        BigDecimal.valueOf(20 + i % 40), BigDecimal.valueOf(5 + i % 15), UPDATED));
+            }
+        }
+    }
+
+    CityRepository cityRepository() {
+        return repository(CityRepository.class, Map.of(), cities);
+    }
+
+    CostIndexRepository costIndexRepository() {
+        Map<String, CostIndex> byId = costs.stream().collect(Collectors.toMap(CostIndexRow::cityId,
+                row -> new CostIndex(row.cityId(), null, row.accommodationLow(), row.accommodationMid(),
+                        row.foodDaily(), row.localTransitDaily(), row.updatedAt())));
+        return repository(CostIndexRepository.class, byId, costs);
+    }
+
+    static TripRequest request(String origin, String destination, String preference) {
+        TripRequest request = new TripRequest();
+        request.setOriginCityId(origin);
+        request.setDestinationCityId(destination);
+        request.setStartDate(LocalDate.of(2030, 6, 1));
+        request.setEndDate(LocalDate.of(2030, 6, 8));
+        request.setTravellers(2);
+        request.setPreference(preference);
+        return request;
+    }
+
+    private static String iata(int i) {
+        return String.valueOf(new char[] { (char) ('A' + i % 26), (char) ('A' + i / 26 % 26),
+                (char) ('A' + i / 676 % 26) });
+    }
+
+    /**
+     * A Spring Data repository answering the few calls the estimators and the
+     * reference data registry make, from memory.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R repository(Class<R> type, Map<String, ?> byId, List<?> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(byId.get(args[0]));
+                    case "findAllRows", "findRowsUpdatedAfter" -> rows;
+                    case "count" -> (long) rows.size();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
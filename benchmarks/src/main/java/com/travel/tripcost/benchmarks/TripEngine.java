@@ -0,0 +1,99 @@
+package com.travel.tripcost.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.travel.tripcost.domain.Money;
+import com.travel.tripcost.dto.TripResponse.CostRange;
+import com.travel.tripcost.provider.FlightProvider;
+import com.travel.tripcost.repository.CostIndexRepository;
+import com.travel.tripcost.service.AccommodationEstimator;
+import com.travel.tripcost.service.AlternativesEngine;
+import com.travel.tripcost.service.DistanceService;
+import com.travel.tripcost.service.FoodEstimator;
+import com.travel.tripcost.service.GroundTransportProperties;
+import com.travel.tripcost.service.LocalTransitEstimator;
+import com.travel.tripcost.service.NearestAirportResolver;
+import com.travel.tripcost.service.TransportEstimator;
+import com.travel.tripcost.service.TripService;
+import com.travel.tripcost.service.pipeline.AccommodationComponent;
+import com.travel.tripcost.service.pipeline.CostComponent;
+import com.travel.tripcost.service.pipeline.CostPipeline;
+import com.travel.tripcost.service.pipeline.FoodComponent;
+import com.travel.tripcost.service.pipeline.LocalTransitComponent;
+import com.travel.tripcost.service.pipeline.StageTimers;
+import com.travel.tripcost.service.pipeline.TransportComponent;
+import com.travel.tripcost.service.pipeline.TripContextLoader;
+import com.travel.tripcost.service.reference.ReferenceDataRefreshedEvent;
+import com.travel.tripcost.service.reference.ReferenceDataRegistry;
+import com.travel.tripcost.service.traffic.TrafficTracker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link TripService} wired by hand the way the application context wires it,
+ * over in-memory repositories and a flight provider that answers instantly.
+ */
+final class TripEngine implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TripService tripService;
+
+    TripEngine(Fixtures fixtures) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CostIndexRepository costIndexRepository = fixtures.costIndexRepository();
+        ReferenceDataRegistry referenceData = new ReferenceDataRegistry(fixtures.cityRepository(),
+                costIndexRepository, event -> {
+                });
+        referenceData.reload();
+        ReferenceDataRefreshedEvent loaded = new ReferenceDataRefreshedEvent(referenceData.current());
+
+        DistanceService distanceService = new DistanceService();
+        AccommodationEstimator accommodationEstimator = new AccommodationEstimator(costIndexRepository);
+        FoodEstimator foodEstimator = new FoodEstimator(costIndexRepository);
+        NearestAirportResolver airportResolver = new NearestAirportResolver(referenceData);
+        airportResolver.onReferenceDataRefreshed(loaded);
+        AlternativesEngine alternativesEngine = new AlternativesEngine(referenceData, accommodationEstimator,
+                foodEstimator);
+        alternativesEngine.onReferenceDataRefreshed(loaded);
+
+        FlightProvider instantFlights = TripEngine::instantQuote;
+        StageTimers stageTimers = new StageTimers(meterRegistry);
+        List<CostComponent> components = List.of(
+                new TransportComponent(instantFlights, instantFlights, airportResolver,
+                        new TransportEstimator(new GroundTransportProperties(1.3, 15, null, null)),
+                        distanceService, meterRegistry),
+                new AccommodationComponent(accommodationEstimator),
+                new FoodComponent(foodEstimator),
+                new LocalTransitComponent(new LocalTransitEstimator()));
+
+        tripService = new TripService(
+                new TripContextLoader(referenceData, distanceService, stageTimers, components),
+                new CostPipeline(components, executor, stageTimers),
+                alternativesEngine, executor,
+                new TrafficTracker(20, 1024, 4, Duration.ofMinutes(1),
+                        List.of(Duration.ofMinutes(1), Duration.ofMinutes(15), Duration.ofHours(1))),
+                stageTimers);
+    }
+
+    TripService tripService() {
+        return tripService;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private static CostRange instantQuote(String origin, String destination, String startDate, String endDate,
+            int travellers, String preference, double distanceKm) {
+        CostRange range = new CostRange();
+        range.setMin(Money.ofMajor(80 + distanceKm * 0.08).times(travellers));
+        range.setMax(Money.ofMajor(140 + distanceKm * 0.15).times(travellers));
+        range.setConfidence("HIGH");
+        return range;
+    }
+}
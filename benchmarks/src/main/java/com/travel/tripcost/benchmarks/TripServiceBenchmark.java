@@ -0,0 +1,64 @@
+package com.travel.tripcost.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.travel.tripcost.dto.TripRequest;
+import com.travel.tripcost.dto.TripResponse;
+
+/**
+ * A whole estimate through {@code TripService}, with a flight provider that
+ * answers instantly, so what is measured is the engine's own overhead: context
+ * loading, the concurrent pipeline, alternatives and response assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripServiceBenchmark {
+
+    private TripEngine engine;
+    private TripRequest[] requests;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        engine = new TripEngine(new Fixtures());
+        // Direct airport pairs, ground legs at one or both ends, and cities without cost data
+        requests = new TripRequest[] {
+                Fixtures.request("city-3", "city-153", "BALANCED"),
+                Fixtures.request("city-1", "city-52", "CHEAP"),
+                Fixtures.request("city-7", "city-908", "FAST"),
+                Fixtures.request("city-30", "city-1200", "BALANCED"),
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public TripResponse estimateTrip(Cursor cursor) {
+        TripRequest request = requests[cursor.next];
+        cursor.next = (cursor.next + 1) % requests.length;
+        return engine.tripService().estimateTrip(request);
+    }
+}
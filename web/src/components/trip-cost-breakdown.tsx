@@ -1,7 +1,7 @@
 'use client';
 
 import React from 'react';
-import { Plane, Hotel, Utensils, DollarSign, TrendingUp, TrendingDown, Info, CheckCircle, AlertCircle, AlertTriangle } from 'lucide-react';
+import { Plane, Hotel, Utensils, Bus, DollarSign, TrendingUp, TrendingDown, Info, CheckCircle, AlertCircle, AlertTriangle } from 'lucide-react';
 import { CostRange, TripResponse } from '@/lib/api/tripApi';
 import { BudgetType } from './budget-preference';
 
@@ -43,6 +43,13 @@ export function TripCostBreakdown({ data, budgetType }: TripCostBreakdownProps)
             color: 'text-orange-600',
             bgColor: 'bg-orange-50',
         },
+        {
+            icon: Bus,
+            label: 'Local Transit',
+            cost: breakdown.localTransit,
+            color: 'text-teal-600',
+            bgColor: 'bg-teal-50',
+        },
     ];
 
     const totalConfidence = confidenceConfig[breakdown.total.confidence];
@@ -132,7 +139,7 @@ export function TripCostBreakdown({ data, budgetType }: TripCostBreakdownProps)
                     Prices are estimates and may vary based on availability, season, and booking timing.
                 </p>
                 <p className="text-xs text-muted-foreground">
-                    Data source: {metadata.dataSource} | Generated: {new Date(metadata.generatedAt).toLocaleString()}
+                    Data source: {metadata.dataSource}{metadata.stale && ' (cached fare)'} | Generated: {new Date(metadata.generatedAt).toLocaleString()}
                 </p>
             </div>
         </div>
@@ -29,8 +29,8 @@ export interface City {
     id: string;
     name: string;
     country: string;
-    latitude?: number;
-    longitude?: number;
+    iataCode?: string | null;
+    hasCostData: boolean;
 }
 
 export interface TripRequest {
@@ -48,17 +48,25 @@ export interface CostRange {
     confidence: 'HIGH' | 'MEDIUM' | 'LOW';
 }
 
+export interface Alternative {
+    cityId: string;
+    cityName: string;
+    estimatedSaving: number;
+}
+
 export interface TripResponse {
     breakdown: {
         transport: CostRange;
         accommodation: CostRange;
         food: CostRange;
+        localTransit: CostRange;
         total: CostRange;
     };
-    alternatives: unknown[];
+    alternatives: Alternative[];
     metadata: {
         dataSource: string;
         generatedAt: string;
+        stale: boolean;
     };
 }
 